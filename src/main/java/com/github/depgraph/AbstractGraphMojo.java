@@ -16,10 +16,16 @@
 package com.github.depgraph;
 
 import static com.github.depgraph.GraphFormat.JSON;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.emptyList;
 
 import com.github.depgraph.dependency.DependencyGraphException;
 import com.github.depgraph.dependency.GraphFactory;
 import com.github.depgraph.dependency.GraphStyleConfigurer;
+import com.github.depgraph.dependency.PatternArtifactFilter;
+import com.github.depgraph.dependency.neo4j.Neo4jCsvGraphStyleConfigurer;
 import com.github.depgraph.dependency.neo4j.Neo4jGraphStyleConfigurer;
 import com.github.depgraph.dependency.text.TextGraphStyleConfigurer;
 import java.io.File;
@@ -29,6 +35,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.regex.Pattern;
 import org.apache.maven.artifact.Artifact;
@@ -42,8 +49,6 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectDependenciesResolver;
 import org.apache.maven.shared.artifact.filter.ScopeArtifactFilter;
-import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
-import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
 
 /**
  * Abstract mojo to create all possible kinds of graphs. Graphs are created with instances of the {@link GraphFactory}
@@ -175,17 +180,22 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     try {
       GraphFactory graphFactory = createGraphFactory(globalFilter, transitiveIncludeExcludeFilter, targetFilter,
           graphStyleConfigurer);
-      String dependencyGraph = graphFactory.createGraph(getProject());
-      writeGraphFile(dependencyGraph, graphFilePath);
 
       if (graphFormat == GraphFormat.TEXT) {
+        // The text graph is logged as well, so it is needed as string
+        String dependencyGraph = graphFactory.createGraph(getProject());
+        writeGraphFile(dependencyGraph, graphFilePath);
         getLog().info("Dependency graph:\n" + dependencyGraph);
+      } else {
+        writeGraphFile(graphFactory, graphFilePath);
       }
 
     } catch (DependencyGraphException e) {
       throw new MojoExecutionException("Unable to create dependency graph.", e.getCause());
     } catch (IOException e) {
       throw new MojoExecutionException("Unable to write graph file.", e);
+    } finally {
+      executionFinished();
     }
   }
 
@@ -197,6 +207,14 @@ abstract class AbstractGraphMojo extends AbstractMojo {
       ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter,
       GraphStyleConfigurer graphStyleConfigurer);
 
+  /**
+   * Called at the end of each execution, no matter whether the graph could be created or not. Subclasses may override
+   * this method to release resources that are shared between the executions of a build.
+   */
+  protected void executionFinished() {
+    // NOP
+  }
+
   /**
    * Indicates to subclasses that everything possible should be shown in the graph, no matter what was configured for
    * the specific mojo.
@@ -218,39 +236,19 @@ abstract class AbstractGraphMojo extends AbstractMojo {
       filter.add(new ScopeArtifactFilter(this.scope));
     }
 
-    if (!this.includes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.includes));
-    }
-
-    if (!this.excludes.isEmpty()) {
-      filter.add(new StrictPatternExcludesArtifactFilter(this.excludes));
+    if (!this.includes.isEmpty() || !this.excludes.isEmpty()) {
+      filter.add(new PatternArtifactFilter(this.includes, this.excludes));
     }
 
     return filter;
   }
 
   private ArtifactFilter createTransitiveIncludeExcludeFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
-
-    if (!this.transitiveIncludes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.transitiveIncludes));
-    }
-
-    if (!this.transitiveExcludes.isEmpty()) {
-      filter.add(new StrictPatternExcludesArtifactFilter(this.transitiveExcludes));
-    }
-
-    return filter;
+    return new PatternArtifactFilter(this.transitiveIncludes, this.transitiveExcludes);
   }
 
   private ArtifactFilter createTargetArtifactFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
-
-    if (!this.targetIncludes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.targetIncludes));
-    }
-
-    return filter;
+    return new PatternArtifactFilter(this.targetIncludes, emptyList());
   }
 
   private GraphStyleConfigurer createGraphStyleConfigurer(GraphFormat graphFormat) throws MojoFailureException {
@@ -259,6 +257,8 @@ abstract class AbstractGraphMojo extends AbstractMojo {
         return new TextGraphStyleConfigurer();
       case NEO4J:
         return new Neo4jGraphStyleConfigurer();
+      case CSV:
+        return new Neo4jCsvGraphStyleConfigurer();
       default:
         throw new IllegalArgumentException("Unsupported output format: " + graphFormat);
     }
@@ -290,16 +290,46 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   }
 
   protected void writeGraphFile(String graph, Path graphFilePath) throws IOException {
-    Path parent = graphFilePath.getParent();
-    if (parent != null) {
-      Files.createDirectories(parent);
-    }
+    writeGraphFile(graphFilePath, writer -> writer.write(graph));
+  }
+
+  /**
+   * Streams the graph into the given file.
+   *
+   * @param graphFactory The graph factory.
+   * @param graphFilePath The graph file.
+   * @throws IOException If the graph file cannot be written.
+   */
+  protected void writeGraphFile(GraphFactory graphFactory, Path graphFilePath) throws IOException {
+    writeGraphFile(graphFilePath, writer -> graphFactory.writeGraph(getProject(), writer));
+  }
 
-    try (Writer writer = Files.newBufferedWriter(graphFilePath, StandardCharsets.UTF_8)) {
-      writer.write(graph);
+  /**
+   * Writes the graph to a temporary file next to the graph file first, so that an existing graph file is not truncated
+   * in case the graph cannot be created. The temporary file is created like any other file, so the graph file gets the
+   * default permissions.
+   */
+  private static void writeGraphFile(Path graphFilePath, GraphContent content) throws IOException {
+    Path parent = graphFilePath.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+
+    Path tempFile = graphFilePath.resolveSibling(graphFilePath.getFileName() + ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8, CREATE, TRUNCATE_EXISTING,
+          WRITE)) {
+        content.writeTo(writer);
+      }
+      Files.move(tempFile, graphFilePath, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile);
     }
   }
 
+  private interface GraphContent {
+
+    void writeTo(Writer writer) throws IOException;
+  }
+
   private static class OptionalArtifactFilter implements ArtifactFilter {
 
     @Override
@@ -23,6 +23,16 @@ public enum GraphFormat {
       return ".json";
     }
   },
+  /**
+   * Writes the graph into CSV files in the import directory. The graph file itself is a shell script containing the
+   * {@code neo4j-admin import} command to load the CSV files.
+   */
+  CSV {
+    @Override
+    public String getFileExtension() {
+      return ".sh";
+    }
+  },
   TEXT {
     @Override
     public String getFileExtension() {
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph;
+
+import com.github.depgraph.dependency.AggregatingGraphFactory;
+import com.github.depgraph.dependency.DependencyNode;
+import com.github.depgraph.dependency.GraphFactory;
+import com.github.depgraph.dependency.MavenGraphAdapter;
+import com.github.depgraph.graph.GraphBuilder;
+import java.util.List;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Creates a single dependency graph of all modules in the reactor. The graph is written once, so artifacts that are
+ * shared by several modules are written only once as well.
+ */
+@Mojo(
+    name = "neo4j-aggregate",
+    aggregator = true,
+    defaultPhase = LifecyclePhase.NONE,
+    threadSafe = true)
+public class Neo4jAggregateGraphMojo extends Neo4jGraphMojo {
+
+  /**
+   * Maximum number of modules whose dependencies are resolved concurrently.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "resolutionThreads", defaultValue = "4")
+  private int resolutionThreads;
+
+  @Parameter(defaultValue = "${reactorProjects}", readonly = true)
+  private List<MavenProject> reactorProjects;
+
+  @Override
+  GraphFactory createGraphFactory(MavenGraphAdapter adapter, ArtifactFilter globalFilter,
+      GraphBuilder<DependencyNode> graphBuilder, boolean reduceEdges) {
+    return new AggregatingGraphFactory(adapter, this.reactorProjects, globalFilter, graphBuilder, reduceEdges,
+        this.resolutionThreads);
+  }
+}
@@ -19,6 +19,7 @@ import static java.util.EnumSet.allOf;
 import static java.util.EnumSet.complementOf;
 import static java.util.EnumSet.of;
 
+import com.github.depgraph.dependency.DependencyGraphCache;
 import com.github.depgraph.dependency.DependencyNode;
 import com.github.depgraph.dependency.DependencyNodeIdRenderer;
 import com.github.depgraph.dependency.GraphFactory;
@@ -27,12 +28,19 @@ import com.github.depgraph.dependency.MavenGraphAdapter;
 import com.github.depgraph.dependency.NodeResolution;
 import com.github.depgraph.dependency.SimpleGraphFactory;
 import com.github.depgraph.graph.GraphBuilder;
+import com.github.depgraph.graph.neo4j.Neo4jCsvGraphFormatter;
+import com.github.depgraph.graph.neo4j.Neo4jDriverRegistry;
+import com.github.depgraph.graph.neo4j.Neo4jSettings;
+import java.io.File;
+import java.nio.file.Path;
 import java.util.EnumSet;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.eclipse.aether.RepositorySystemSession;
 import org.neo4j.driver.v1.AuthTokens;
 
 /**
@@ -80,6 +88,54 @@ public class Neo4jGraphMojo extends AbstractGraphMojo {
   private boolean mergeClassifiers;
 
 
+  /**
+   * If set to {@code true}, transitive edges are removed from the graph, i.e. an edge 'A -&gt; C' is omitted if 'C' is
+   * already reachable from 'A' via an older edge such as 'A -&gt; B -&gt; C'.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "reduceEdges", defaultValue = "false")
+  private boolean reduceEdges;
+
+  /**
+   * Maximum depth of the dependencies in the graph. The direct dependencies of the project have a depth of 1. Deeper
+   * dependencies are not visited at all. A value of {@code 0} (which is the default) means no limit.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "maxDepth", defaultValue = "0")
+  private int maxDepth;
+
+  /**
+   * If set to {@code true}, the graph is built from the dependencies that Maven already collected for the project
+   * instead of resolving them a second time. This option has no effect if {@link #showConflicts} or
+   * {@link #showDuplicates} is enabled, because Maven does not keep the omitted dependencies.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "reuseProjectDependencies", defaultValue = "false")
+  private boolean reuseProjectDependencies;
+
+  /**
+   * If set to {@code true}, resolved dependency graphs are stored in the {@link #resolutionCacheDirectory} and loaded
+   * from there in later builds as long as the effective POM, the active profiles and the repositories of the project
+   * and the POMs of the reactor modules it depends on do not change. Graphs containing version ranges or SNAPSHOT
+   * versions of artifacts outside the reactor are always resolved.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "persistResolution", defaultValue = "false")
+  private boolean persistResolution;
+
+  /**
+   * Directory for the resolved dependency graphs if {@link #persistResolution} is enabled. Several projects may share
+   * the same directory.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "resolutionCacheDirectory", defaultValue = "${project.build.directory}/dependency-graph-cache")
+  private File resolutionCacheDirectory;
+
   @Parameter(property = "neo4jUri", defaultValue = "bolt://localhost:7687")
   private String neo4jUri;
 
@@ -89,14 +145,130 @@ public class Neo4jGraphMojo extends AbstractGraphMojo {
   @Parameter(property = "neo4jPass", defaultValue = "test")
   private String neo4jPass;
 
+  /**
+   * Maximum number of artifacts or dependencies that are written to Neo4j with a single {@code UNWIND} statement.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jBatchSize", defaultValue = "1000")
+  private int neo4jBatchSize;
+
+  /**
+   * Number of (batched) statements that are executed and committed within a single transaction. If a statement fails,
+   * the whole transaction is rolled back and no further transactions are started.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jCommitSize", defaultValue = "10")
+  private int neo4jCommitSize;
+
+  /**
+   * If set to {@code true}, the project's existing artifacts and dependencies are read from Neo4j first and only the
+   * difference is written: New artifacts and dependencies are created and dependencies that were removed from the
+   * project's POM are deleted. When nothing changed, nothing is written.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jDeltaSync", defaultValue = "false")
+  private boolean neo4jDeltaSync;
+
+  /**
+   * If set to {@code true}, a fingerprint of the dependency graph is stored on a {@code :Project} node in Neo4j. When
+   * the fingerprint of the current graph matches the stored one, the graph is not written at all.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jSkipUnchanged", defaultValue = "false")
+  private boolean neo4jSkipUnchanged;
+
+  /**
+   * If set to {@code true}, the statements are written with the asynchronous API of the Neo4j driver. Instead of
+   * waiting for the result of each statement, up to {@link #neo4jMaxInFlight} statements are pipelined within a
+   * transaction. This is most effective when the latency to the Neo4j server is high.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jAsync", defaultValue = "false")
+  private boolean neo4jAsync;
+
+  /**
+   * Maximum number of statements that are in flight when {@link #neo4jAsync} is enabled.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jMaxInFlight", defaultValue = "4")
+  private int neo4jMaxInFlight;
+
+  /**
+   * Maximum number of connections in the pool of the Neo4j driver. The driver is shared by all modules of the build.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jMaxConnectionPoolSize", defaultValue = "100")
+  private int neo4jMaxConnectionPoolSize;
+
+  /**
+   * Maximum time in milliseconds to wait for a connection from the pool of the Neo4j driver.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jConnectionAcquisitionTimeout", defaultValue = "60000")
+  private long neo4jConnectionAcquisitionTimeout;
+
+  /**
+   * If set to {@code true} (which is the default), a uniqueness constraint on {@code :Artifact(id)} is created before
+   * the graph is written, unless it already exists.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jCreateSchema", defaultValue = "true")
+  private boolean neo4jCreateSchema;
+
+  /**
+   * If set to {@code true}, indexes on {@code :Artifact(groupId)} and {@code :Artifact(artifactId)} are created
+   * together with the schema. This option has no effect when {@link #neo4jCreateSchema} is disabled.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jCreateIndexes", defaultValue = "false")
+  private boolean neo4jCreateIndexes;
+
+  /**
+   * If set to {@code true}, the JSON graph file is written without indentation and line breaks.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jCompactJson", defaultValue = "false")
+  private boolean neo4jCompactJson;
+
+  /**
+   * Directory into which the CSV files for {@code neo4j-admin import} are written when {@code graphFormat} is set to
+   * {@code csv}. All modules of a multi-module build write into the same files.
+   *
+   * @since 1.0.0
+   */
+  @Parameter(property = "neo4jImportDirectory", defaultValue = "${session.executionRootDirectory}/target/neo4j-import")
+  private File neo4jImportDirectory;
+
+  @Parameter(defaultValue = "${session}", readonly = true)
+  private MavenSession session;
+
+  private GraphBuilder<DependencyNode> graphBuilder;
+
   @Override
   protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter,
       ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer) {
 
     GraphBuilder<DependencyNode> graphBuilder = createGraphBuilder(graphStyleConfigurer);
+    this.graphBuilder = graphBuilder;
     MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter);
 
-    return new SimpleGraphFactory(adapter, globalFilter, graphBuilder);
+    return createGraphFactory(adapter, globalFilter, graphBuilder, this.reduceEdges);
+  }
+
+  GraphFactory createGraphFactory(MavenGraphAdapter adapter, ArtifactFilter globalFilter,
+      GraphBuilder<DependencyNode> graphBuilder, boolean reduceEdges) {
+    return new SimpleGraphFactory(adapter, globalFilter, graphBuilder, reduceEdges);
   }
 
   GraphBuilder<DependencyNode> createGraphBuilder(GraphStyleConfigurer graphStyleConfigurer) {
@@ -113,26 +285,64 @@ public class Neo4jGraphMojo extends AbstractGraphMojo {
         .showVersionsOnNodes(true)
         .showVersionsOnEdges(true)
         .configure(GraphBuilder.create(nodeIdRenderer)
-            .neo4jUri(neo4jUri)
-            .neo4AuthToken(AuthTokens.basic(neo4jUser, neo4jPass)));
+            .neo4jSettings(createNeo4jSettings()));
+  }
+
+  private Neo4jSettings createNeo4jSettings() {
+    return Neo4jSettings.create(this.neo4jUri, AuthTokens.basic(this.neo4jUser, this.neo4jPass))
+        .batchSize(this.neo4jBatchSize)
+        .commitSize(this.neo4jCommitSize)
+        .deltaSync(this.neo4jDeltaSync)
+        .skipUnchanged(this.neo4jSkipUnchanged)
+        .async(this.neo4jAsync)
+        .maxInFlight(this.neo4jMaxInFlight)
+        .maxConnectionPoolSize(this.neo4jMaxConnectionPoolSize)
+        .connectionAcquisitionTimeout(this.neo4jConnectionAcquisitionTimeout)
+        .createSchema(this.neo4jCreateSchema)
+        .createIndexes(this.neo4jCreateIndexes)
+        .compactJson(this.neo4jCompactJson)
+        .importDirectory(this.neo4jImportDirectory.toPath())
+        .log(getLog());
+  }
+
+
+  @Override
+  protected void executionFinished() {
+    if (this.graphBuilder != null && getLog().isDebugEnabled()) {
+      getLog().debug("Render cache: " + this.graphBuilder.getRenderCacheHits() + " hits, "
+          + this.graphBuilder.getRenderCacheMisses() + " misses");
+    }
+
+    // The Neo4j driver, the resolved graphs and the CSV exports are shared by all modules and goals of the build.
+    // Release them when the build is finished.
+    if (this.session != null) {
+      RepositorySystemSession repositorySession = this.session.getRepositorySession();
+      SessionEndListener.register(this.session, () -> releaseSharedResources(repositorySession));
+    }
   }
 
+  private static void releaseSharedResources(RepositorySystemSession repositorySession) {
+    Neo4jDriverRegistry.closeIdleDrivers();
+    DependencyGraphCache.clear(repositorySession);
+    Neo4jCsvGraphFormatter.finishExports();
+  }
 
   private MavenGraphAdapter createMavenGraphAdapter(ArtifactFilter transitiveIncludeExcludeFilter,
       ArtifactFilter targetFilter) {
     MavenGraphAdapter adapter;
+    Path cacheDirectory = this.persistResolution ? this.resolutionCacheDirectory.toPath() : null;
     if (requiresFullGraph()) {
       EnumSet<NodeResolution> resolutions = allOf(NodeResolution.class);
       resolutions = !this.showConflicts ? complementOf(of(NodeResolution.OMITTED_FOR_CONFLICT)) : resolutions;
       resolutions = !this.showDuplicates ? complementOf(of(NodeResolution.OMITTED_FOR_DUPLICATE)) : resolutions;
 
       adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter,
-          resolutions);
+          resolutions, this.maxDepth, this.reuseProjectDependencies, cacheDirectory);
     } else {
       // there are no reachable paths to be omitted
       adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter,
           EnumSet.of(
-              NodeResolution.INCLUDED));
+              NodeResolution.INCLUDED), this.maxDepth, this.reuseProjectDependencies, cacheDirectory);
     }
     return adapter;
   }
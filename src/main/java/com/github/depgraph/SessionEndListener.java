@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Runs an action when the Maven session ends, i.e. after the last mojo of the build, no matter how many modules run
+ * which goals of this plugin. All events are forwarded to the execution listener that was registered before.
+ * <p>
+ * Unlike an {@code AbstractMavenLifecycleParticipant}, this listener does not require the plugin to be declared as a
+ * build extension.
+ * </p>
+ */
+final class SessionEndListener implements ExecutionListener {
+
+  private static final String SESSION_DATA_KEY = SessionEndListener.class.getName();
+
+  private final ExecutionListener delegate;
+  private final Runnable action;
+
+  private SessionEndListener(ExecutionListener delegate, Runnable action) {
+    this.delegate = delegate;
+    this.action = action;
+  }
+
+  /**
+   * Registers the given action for the end of the given session. Only the first action that is registered for a
+   * session is run.
+   *
+   * @param session The Maven session.
+   * @param action The action to run when the session ends.
+   */
+  static void register(MavenSession session, Runnable action) {
+    SessionData sessionData = session.getRepositorySession().getData();
+    if (!sessionData.set(SESSION_DATA_KEY, null, Boolean.TRUE)) {
+      return;
+    }
+
+    MavenExecutionRequest request = session.getRequest();
+    synchronized (request) {
+      request.setExecutionListener(new SessionEndListener(request.getExecutionListener(), action));
+    }
+  }
+
+  @Override
+  public void sessionEnded(ExecutionEvent event) {
+    try {
+      if (this.delegate != null) {
+        this.delegate.sessionEnded(event);
+      }
+    } finally {
+      this.action.run();
+    }
+  }
+
+  @Override
+  public void projectDiscoveryStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectDiscoveryStarted(event);
+    }
+  }
+
+  @Override
+  public void sessionStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.sessionStarted(event);
+    }
+  }
+
+  @Override
+  public void projectSkipped(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectSkipped(event);
+    }
+  }
+
+  @Override
+  public void projectStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectStarted(event);
+    }
+  }
+
+  @Override
+  public void projectSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectSucceeded(event);
+    }
+  }
+
+  @Override
+  public void projectFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectFailed(event);
+    }
+  }
+
+  @Override
+  public void mojoSkipped(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoSkipped(event);
+    }
+  }
+
+  @Override
+  public void mojoStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoStarted(event);
+    }
+  }
+
+  @Override
+  public void mojoSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoSucceeded(event);
+    }
+  }
+
+  @Override
+  public void mojoFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoFailed(event);
+    }
+  }
+
+  @Override
+  public void forkStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkStarted(event);
+    }
+  }
+
+  @Override
+  public void forkSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkSucceeded(event);
+    }
+  }
+
+  @Override
+  public void forkFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkFailed(event);
+    }
+  }
+
+  @Override
+  public void forkedProjectStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkedProjectStarted(event);
+    }
+  }
+
+  @Override
+  public void forkedProjectSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkedProjectSucceeded(event);
+    }
+  }
+
+  @Override
+  public void forkedProjectFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkedProjectFailed(event);
+    }
+  }
+}
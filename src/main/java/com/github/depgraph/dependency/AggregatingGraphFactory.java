@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import com.github.depgraph.graph.GraphBuilder;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Creates a single graph for all projects of a reactor. The dependency graphs of the projects are resolved
+ * concurrently, but added to the graph one after the other in the order of the reactor. Nodes with the same ID, such as
+ * reactor modules that depend on each other or shared third-party artifacts, end up as a single node in the graph.
+ */
+public class AggregatingGraphFactory implements GraphFactory {
+
+  private final MavenGraphAdapter mavenGraphAdapter;
+  private final List<MavenProject> projects;
+  private final ArtifactFilter globalFilter;
+  private final GraphBuilder<DependencyNode> graphBuilder;
+  private final boolean reduceEdges;
+  private final int resolutionThreads;
+
+  /**
+   * Constructor.
+   *
+   * @param mavenGraphAdapter The adapter for the dependency graphs of the projects.
+   * @param projects The projects of the reactor.
+   * @param globalFilter Filter for all dependencies.
+   * @param graphBuilder The graph builder for the aggregated graph.
+   * @param reduceEdges Whether transitive edges are removed from the aggregated graph.
+   * @param resolutionThreads Maximum number of projects whose dependencies are resolved concurrently.
+   */
+  public AggregatingGraphFactory(MavenGraphAdapter mavenGraphAdapter, List<MavenProject> projects,
+      ArtifactFilter globalFilter, GraphBuilder<DependencyNode> graphBuilder, boolean reduceEdges,
+      int resolutionThreads) {
+    this.mavenGraphAdapter = mavenGraphAdapter;
+    this.projects = projects;
+    this.globalFilter = globalFilter;
+    this.graphBuilder = graphBuilder;
+    this.reduceEdges = reduceEdges;
+    this.resolutionThreads = resolutionThreads;
+  }
+
+  @Override
+  public void writeGraph(MavenProject project, Writer writer) throws IOException {
+    this.graphBuilder.graphName(project.getArtifactId());
+
+    List<org.eclipse.aether.graph.DependencyNode> dependencyGraphs = resolveDependencyGraphs();
+    for (int i = 0; i < this.projects.size(); i++) {
+      MavenProject reactorProject = this.projects.get(i);
+      this.mavenGraphAdapter.buildDependencyGraph(reactorProject, dependencyGraphs.get(i), this.globalFilter,
+          this.graphBuilder);
+    }
+
+    // Add projects without dependencies as single nodes
+    for (MavenProject reactorProject : this.projects) {
+      Artifact artifact = reactorProject.getArtifact();
+      DependencyNode node = new DependencyNode(artifact);
+      if (this.globalFilter.include(artifact) && this.graphBuilder.getEffectiveNode(node) == node) {
+        this.graphBuilder.addNode(node);
+      }
+    }
+
+    if (this.reduceEdges) {
+      this.graphBuilder.reduceEdges();
+    }
+
+    this.graphBuilder.writeTo(writer);
+  }
+
+  private List<org.eclipse.aether.graph.DependencyNode> resolveDependencyGraphs() {
+    int threads = Math.max(1, Math.min(this.resolutionThreads, this.projects.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<org.eclipse.aether.graph.DependencyNode>> futures = new ArrayList<>(this.projects.size());
+      for (MavenProject reactorProject : this.projects) {
+        futures.add(executor.submit(() -> this.mavenGraphAdapter.getDependencyGraph(reactorProject)));
+      }
+
+      List<org.eclipse.aether.graph.DependencyNode> dependencyGraphs = new ArrayList<>(futures.size());
+      for (Future<org.eclipse.aether.graph.DependencyNode> future : futures) {
+        dependencyGraphs.add(getResult(future));
+      }
+
+      return dependencyGraphs;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T> T getResult(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving the dependency graphs", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IllegalStateException(cause);
+    }
+  }
+}
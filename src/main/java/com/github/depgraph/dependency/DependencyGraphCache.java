@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Cache for resolved dependency graphs. The cache is stored in the {@link SessionData} of the repository session, so
+ * it is shared by all executions and goals of this plugin within one build, but not across builds.
+ * <p>
+ * The graphs are only softly referenced and may be collected when memory gets low. The whole cache is dropped by
+ * {@link #clear(RepositorySystemSession)} when the reactor is finished.
+ * </p>
+ */
+public final class DependencyGraphCache {
+
+  private static final String SESSION_DATA_KEY = DependencyGraphCache.class.getName();
+
+  private final ConcurrentMap<String, SoftReference<DependencyNode>> graphs;
+
+  private DependencyGraphCache() {
+    this.graphs = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the cache of the given session and creates it if necessary.
+   *
+   * @param session The repository session.
+   * @return The cache of the session.
+   */
+  public static DependencyGraphCache forSession(RepositorySystemSession session) {
+    SessionData sessionData = session.getData();
+    sessionData.set(SESSION_DATA_KEY, null, new DependencyGraphCache());
+
+    return (DependencyGraphCache) sessionData.get(SESSION_DATA_KEY);
+  }
+
+  /**
+   * Removes the cache from the given session.
+   *
+   * @param session The repository session.
+   */
+  public static void clear(RepositorySystemSession session) {
+    session.getData().set(SESSION_DATA_KEY, null);
+  }
+
+  /**
+   * Returns the cached graph for the given key.
+   *
+   * @param key The cache key.
+   * @return The root node of the graph or {@code null} if the graph is not cached.
+   */
+  public DependencyNode get(String key) {
+    SoftReference<DependencyNode> reference = this.graphs.get(key);
+    return reference != null ? reference.get() : null;
+  }
+
+  public void put(String key, DependencyNode root) {
+    this.graphs.put(key, new SoftReference<>(root));
+  }
+}
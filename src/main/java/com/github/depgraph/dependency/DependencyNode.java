@@ -25,66 +25,73 @@ import org.eclipse.aether.util.graph.transformer.ConflictResolver;
  * <li>{@link org.apache.maven.artifact.Artifact}</li>
  * <li>{@link org.eclipse.aether.graph.DependencyNode}</li>
  * </ul>
+ * The node only holds the coordinates of the dependency. The Maven {@link Artifact} is created on demand when it is
+ * requested by {@link #getArtifact()}.
  */
 public final class DependencyNode {
 
-  private final Artifact artifact;
+  private static final String DEFAULT_SCOPE = "compile";
+
+  private final String groupId;
+  private final String artifactId;
+  private final String version;
   private final String effectiveVersion;
   private final NodeResolution resolution;
   private final String scope;
   private final String classifier;
   private final String type;
+  private boolean optional;
+  private Artifact artifact;
 
 
   public DependencyNode(Artifact artifact) {
-    this(artifact, determineNodeResolution(artifact), artifact.getVersion());
-  }
-
-  public DependencyNode(org.eclipse.aether.graph.DependencyNode dependencyNode) {
-    this(createMavenArtifact(dependencyNode), determineResolution(dependencyNode),
-        determineEffectiveVersion(dependencyNode));
-  }
-
-  private DependencyNode(Artifact artifact, NodeResolution resolution, String effectiveVersion) {
     if (artifact == null) {
       throw new NullPointerException("Artifact must not be null");
     }
 
-    // FIXME: better create a copy of the artifact and set the missing attributes there.
-    if (artifact.getScope() == null) {
-      artifact.setScope("compile");
-    }
-
-    this.effectiveVersion = effectiveVersion;
-    this.scope = artifact.getScope();
-    this.type = artifact.getType();
-    this.artifact = artifact;
-    this.resolution = resolution;
+    this.groupId = artifact.getGroupId();
+    this.artifactId = artifact.getArtifactId();
+    this.version = artifact.getVersion();
+    this.effectiveVersion = artifact.getVersion();
+    this.resolution = determineNodeResolution(artifact);
+    this.scope = artifact.getScope() != null ? artifact.getScope() : DEFAULT_SCOPE;
     this.classifier = artifact.getClassifier();
-
+    this.type = artifact.getType();
+    this.optional = artifact.isOptional();
+    // An artifact without scope gets a copy with the default scope when it is requested
+    this.artifact = artifact.getScope() != null ? artifact : null;
   }
 
-  private static Artifact createMavenArtifact(org.eclipse.aether.graph.DependencyNode dependencyNode) {
-    org.eclipse.aether.artifact.Artifact artifact = dependencyNode.getArtifact();
-    String scope = null;
-    boolean optional = false;
+  public DependencyNode(org.eclipse.aether.graph.DependencyNode dependencyNode) {
+    org.eclipse.aether.artifact.Artifact aetherArtifact = dependencyNode.getArtifact();
+    String dependencyScope = null;
+    boolean dependencyOptional = false;
     if (dependencyNode.getDependency() != null) {
-      scope = dependencyNode.getDependency().getScope();
-      optional = dependencyNode.getDependency().isOptional();
+      dependencyScope = dependencyNode.getDependency().getScope();
+      dependencyOptional = dependencyNode.getDependency().isOptional();
     }
 
-    DefaultArtifact mavenArtifact = new DefaultArtifact(
-        artifact.getGroupId(),
-        artifact.getArtifactId(),
-        artifact.getVersion(),
-        scope,
-        artifact.getProperty("type", artifact.getExtension()),
-        artifact.getClassifier(),
-        null
-    );
-    mavenArtifact.setOptional(optional);
-
-    return mavenArtifact;
+    this.groupId = aetherArtifact.getGroupId();
+    this.artifactId = aetherArtifact.getArtifactId();
+    this.version = aetherArtifact.getVersion();
+    this.effectiveVersion = determineEffectiveVersion(dependencyNode);
+    this.resolution = determineResolution(dependencyNode);
+    this.scope = dependencyScope != null ? dependencyScope : DEFAULT_SCOPE;
+    this.classifier = aetherArtifact.getClassifier();
+    this.type = aetherArtifact.getProperty("type", aetherArtifact.getExtension());
+    this.optional = dependencyOptional;
+  }
+
+  private DependencyNode(DependencyNode other, boolean optional) {
+    this.groupId = other.groupId;
+    this.artifactId = other.artifactId;
+    this.version = other.version;
+    this.effectiveVersion = other.effectiveVersion;
+    this.resolution = other.resolution;
+    this.scope = other.scope;
+    this.classifier = other.classifier;
+    this.type = other.type;
+    this.optional = optional;
   }
 
   private static NodeResolution determineResolution(org.eclipse.aether.graph.DependencyNode dependencyNode) {
@@ -125,15 +132,62 @@ public final class DependencyNode {
       return;
     }
 
-    if (this.artifact.isOptional()) {
-      this.artifact.setOptional(other.getArtifact().isOptional());
+    if (this.optional) {
+      this.optional = other.isOptional();
+      if (this.artifact != null) {
+        this.artifact.setOptional(this.optional);
+      }
     }
   }
 
+  /**
+   * Returns the result of {@link #merge(DependencyNode) merging} the given node into this node without modifying this
+   * node.
+   *
+   * @param other The node to merge.
+   * @return This node if the merge does not change anything, a merged copy otherwise.
+   */
+  DependencyNode mergedWith(DependencyNode other) {
+    if (this.optional && !other.isOptional()) {
+      return new DependencyNode(this, false);
+    }
+
+    return this;
+  }
+
   public Artifact getArtifact() {
+    if (this.artifact == null) {
+      DefaultArtifact mavenArtifact = new DefaultArtifact(this.groupId, this.artifactId, this.version, this.scope,
+          this.type, this.classifier, null);
+      mavenArtifact.setOptional(this.optional);
+      this.artifact = mavenArtifact;
+    }
+
     return this.artifact;
   }
 
+  public String getGroupId() {
+    return this.groupId;
+  }
+
+  public String getArtifactId() {
+    return this.artifactId;
+  }
+
+  /**
+   * Returns the version of this node as declared in the dependency graph.
+   *
+   * @return The declared version of this node.
+   * @see #getEffectiveVersion()
+   */
+  public String getVersion() {
+    return this.version;
+  }
+
+  public boolean isOptional() {
+    return this.optional;
+  }
+
   public NodeResolution getResolution() {
     return this.resolution;
   }
@@ -173,6 +227,6 @@ public final class DependencyNode {
 
   @Override
   public String toString() {
-    return this.artifact.toString();
+    return getArtifact().toString();
   }
 }
@@ -19,7 +19,6 @@ import static com.google.common.base.Strings.emptyToNull;
 
 import com.github.depgraph.graph.NodeRenderer;
 import com.google.common.base.Joiner;
-import org.apache.maven.artifact.Artifact;
 
 public class DependencyNodeIdRenderer implements NodeRenderer<DependencyNode> {
 
@@ -79,14 +78,12 @@ public class DependencyNodeIdRenderer implements NodeRenderer<DependencyNode> {
 
   @Override
   public String render(DependencyNode node) {
-    Artifact artifact = node.getArtifact();
-
     return COLON_JOINER.join(
-        this.withGroupId ? artifact.getGroupId() : null,
-        this.withArtifactId ? artifact.getArtifactId() : null,
-        this.withType ? artifact.getType() : null,
-        this.withVersion ? artifact.getVersion() : null,
-        this.withClassifier ? emptyToNull(artifact.getClassifier()) : null,
-        this.withScope ? artifact.getScope() : null);
+        this.withGroupId ? node.getGroupId() : null,
+        this.withArtifactId ? node.getArtifactId() : null,
+        this.withType ? node.getType() : null,
+        this.withVersion ? node.getVersion() : null,
+        this.withClassifier ? emptyToNull(node.getClassifier()) : null,
+        this.withScope ? node.getScope() : null);
   }
 }
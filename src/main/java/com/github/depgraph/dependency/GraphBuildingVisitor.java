@@ -18,6 +18,8 @@ package com.github.depgraph.dependency;
 import com.github.depgraph.graph.GraphBuilder;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
@@ -25,43 +27,79 @@ import org.eclipse.aether.graph.DependencyVisitor;
 
 
 /**
- * A node visitor that creates edges between the visited nodes using a {@link GraphBuilder}.
+ * A node visitor that creates edges between the visited nodes using a {@link GraphBuilder}. Each Aether node is
+ * converted and filtered only once per traversal, no matter how often it is entered and left.
+ * <p>
+ * Aether shares subtrees between the nodes of the dependency graph. When a subtree turned out to contain only excluded
+ * nodes, it cannot contribute anything to the graph and is skipped when it is visited again.
+ * </p>
  */
 class GraphBuildingVisitor implements DependencyVisitor {
 
   private final GraphBuilder<DependencyNode> graphBuilder;
   private final Deque<DependencyNode> nodeStack;
+  private final Map<org.eclipse.aether.graph.DependencyNode, VisitedNode> visitedNodes;
   private final ArtifactFilter globalFilter;
   private final ArtifactFilter transitiveFilter;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
+  private final int maxDepth;
 
   /**
    * Max depth of the graph. Nodes deeper than this depth will be cut off from the graph.
    */
   private int cutOffDepth = 0;
 
+  /**
+   * Number of nodes that were pushed on the node stack plus the number of subtrees that were not visited because of
+   * the {@link #maxDepth}. A subtree does not contribute to the graph if this number does not change while visiting it.
+   */
+  private int contributions = 0;
+  private final Deque<Integer> contributionMarks;
+
   GraphBuildingVisitor(GraphBuilder<DependencyNode> graphBuilder, ArtifactFilter globalFilter,
       ArtifactFilter transitiveFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    this(graphBuilder, globalFilter, transitiveFilter, targetFilter, includedResolutions, 0);
+  }
+
+  GraphBuildingVisitor(GraphBuilder<DependencyNode> graphBuilder, ArtifactFilter globalFilter,
+      ArtifactFilter transitiveFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions,
+      int maxDepth) {
     this.graphBuilder = graphBuilder;
     this.nodeStack = new ArrayDeque<>();
+    this.visitedNodes = new IdentityHashMap<>();
     this.globalFilter = globalFilter;
     this.transitiveFilter = transitiveFilter;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.maxDepth = maxDepth;
+    this.contributionMarks = new ArrayDeque<>();
   }
 
   @Override
   public boolean visitEnter(org.eclipse.aether.graph.DependencyNode node) {
-    DependencyNode node1 = new DependencyNode(node);
-    if (isExcluded(node1)) {
-      return true;
+    VisitedNode visitedNode = visit(node);
+    int depth = this.contributionMarks.size();
+    this.contributionMarks.push(this.contributions);
+    if (visitedNode.pruned) {
+      return false;
     }
 
-    this.nodeStack.push(node1);
+    if (!visitedNode.excluded) {
+      this.nodeStack.push(visitedNode.node);
+      this.contributions++;
 
-    if (this.targetFilter.include(node1.getArtifact())) {
-      this.cutOffDepth = this.nodeStack.size();
+      if (visitedNode.target) {
+        this.cutOffDepth = this.nodeStack.size();
+      }
+    }
+
+    if (this.maxDepth > 0 && depth >= this.maxDepth) {
+      if (!node.getChildren().isEmpty()) {
+        this.contributions++;
+      }
+
+      return false;
     }
 
     return true;
@@ -69,8 +107,12 @@ class GraphBuildingVisitor implements DependencyVisitor {
 
   @Override
   public boolean visitLeave(org.eclipse.aether.graph.DependencyNode node) {
-    DependencyNode dependencyNode = new DependencyNode(node);
-    if (isExcluded(dependencyNode)) {
+    VisitedNode visitedNode = visit(node);
+    if (this.contributionMarks.pop() == this.contributions) {
+      visitedNode.pruned = true;
+    }
+
+    if (visitedNode.excluded) {
       return true;
     }
 
@@ -81,8 +123,8 @@ class GraphBuildingVisitor implements DependencyVisitor {
       this.cutOffDepth = this.nodeStack.size();
 
       if (currentParent != null) {
-        mergeWithExisting(dependencyNode);
-        if ("test".equals(dependencyNode.getArtifact().getScope())) {
+        DependencyNode dependencyNode = mergeWithExisting(visitedNode.node);
+        if ("test".equals(dependencyNode.getScope())) {
           this.graphBuilder.addPermanentEdge(currentParent, dependencyNode);
         } else {
           this.graphBuilder.addEdge(currentParent, dependencyNode);
@@ -93,6 +135,17 @@ class GraphBuildingVisitor implements DependencyVisitor {
     return true;
   }
 
+  private VisitedNode visit(org.eclipse.aether.graph.DependencyNode node) {
+    VisitedNode visitedNode = this.visitedNodes.get(node);
+    if (visitedNode == null) {
+      visitedNode = new VisitedNode(new DependencyNode(node));
+      visitedNode.excluded = isExcluded(visitedNode.node);
+      visitedNode.target = !visitedNode.excluded && this.targetFilter.include(visitedNode.node.getArtifact());
+      this.visitedNodes.put(node, visitedNode);
+    }
+
+    return visitedNode;
+  }
 
   private boolean isExcluded(DependencyNode node) {
     Artifact artifact = node.getArtifact();
@@ -102,8 +155,24 @@ class GraphBuildingVisitor implements DependencyVisitor {
         || !this.includedResolutions.contains(node.getResolution());
   }
 
-  private void mergeWithExisting(DependencyNode node) {
+  /**
+   * Visited nodes are shared and may already be rendered by the graph builder, so they are not merged in place.
+   */
+  private DependencyNode mergeWithExisting(DependencyNode node) {
     DependencyNode effectiveNode = this.graphBuilder.getEffectiveNode(node);
-    node.merge(effectiveNode);
+    return node.mergedWith(effectiveNode);
+  }
+
+  private static final class VisitedNode {
+
+    private final DependencyNode node;
+    private boolean excluded;
+    private boolean target;
+    // The subtree of this node does not contain any included node
+    private boolean pruned;
+
+    VisitedNode(DependencyNode node) {
+      this.node = node;
+    }
   }
 }
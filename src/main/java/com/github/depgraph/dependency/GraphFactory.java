@@ -15,11 +15,24 @@
  */
 package com.github.depgraph.dependency;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import org.apache.maven.project.MavenProject;
 
 
 public interface GraphFactory {
 
+  /**
+   * Creates a graph for the given {@link MavenProject} and writes it incrementally to the given writer.
+   *
+   * @param project The maven project to create the graph for.
+   * @param writer The writer to write the graph to. It is neither flushed nor closed.
+   * @throws DependencyGraphException In case that the graph cannot be created.
+   * @throws IOException If writing to {@code writer} fails.
+   */
+  void writeGraph(MavenProject project, Writer writer) throws IOException;
+
   /**
    * Creates a graph for the given {@link MavenProject}.
    *
@@ -27,5 +40,15 @@ public interface GraphFactory {
    * @return The String representation of the created graph.
    * @throws DependencyGraphException In case that the graph cannot be created.
    */
-  String createGraph(MavenProject project);
+  default String createGraph(MavenProject project) {
+    StringWriter stringWriter = new StringWriter();
+    try {
+      writeGraph(project, stringWriter);
+    } catch (IOException e) {
+      // should never happen with StringWriter
+      throw new IllegalStateException(e);
+    }
+
+    return stringWriter.toString();
+  }
 }
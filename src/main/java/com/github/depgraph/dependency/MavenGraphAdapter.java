@@ -15,13 +15,19 @@
  */
 package com.github.depgraph.dependency;
 
-import static java.util.Collections.singletonList;
+import static java.util.Collections.emptyList;
 import static org.eclipse.aether.util.graph.transformer.ConflictResolver.CONFIG_PROP_VERBOSE;
 
 import com.github.depgraph.graph.GraphBuilder;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.OrArtifactFilter;
 import org.apache.maven.model.Dependency;
@@ -30,9 +36,9 @@ import org.apache.maven.project.DependencyResolutionException;
 import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectDependenciesResolver;
-import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DefaultDependencyNode;
 
 /**
  * Adapter for Aether's dependency graph.
@@ -43,19 +49,71 @@ public final class MavenGraphAdapter {
   private final ArtifactFilter transitiveIncludeExcludeFilter;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
+  private final int maxDepth;
+  private final boolean reuseProjectDependencies;
+  private final PersistentDependencyGraphCache persistentCache;
 
   public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver,
       ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter,
       Set<NodeResolution> includedResolutions) {
+    this(dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, includedResolutions, 0, false);
+  }
+
+  /**
+   * Creates an adapter that only visits the dependency graph up to the given depth.
+   *
+   * @param dependenciesResolver The resolver for the project's dependencies.
+   * @param transitiveIncludeExcludeFilter Filter for transitive dependencies.
+   * @param targetFilter Filter for the dependencies the graph is restricted to.
+   * @param includedResolutions The resolutions of the dependencies that are shown in the graph.
+   * @param maxDepth Maximum depth of the dependencies in the graph, {@code 0} for no limit.
+   * @param reuseProjectDependencies Whether the graph is built from the dependencies that Maven already collected for
+   * the project instead of resolving them again. This is only possible if no omitted dependencies are requested.
+   */
+  public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver,
+      ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter,
+      Set<NodeResolution> includedResolutions, int maxDepth, boolean reuseProjectDependencies) {
+    this(dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, includedResolutions, maxDepth,
+        reuseProjectDependencies, null);
+  }
+
+  /**
+   * Creates an adapter that stores resolved dependency graphs in the given directory and loads them from there in
+   * later builds.
+   *
+   * @param dependenciesResolver The resolver for the project's dependencies.
+   * @param transitiveIncludeExcludeFilter Filter for transitive dependencies.
+   * @param targetFilter Filter for the dependencies the graph is restricted to.
+   * @param includedResolutions The resolutions of the dependencies that are shown in the graph.
+   * @param maxDepth Maximum depth of the dependencies in the graph, {@code 0} for no limit.
+   * @param reuseProjectDependencies Whether the graph is built from the dependencies that Maven already collected for
+   * the project instead of resolving them again. This is only possible if no omitted dependencies are requested.
+   * @param resolutionCacheDirectory Directory for the resolved dependency graphs or {@code null} if the graphs should
+   * not be stored.
+   */
+  public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver,
+      ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter,
+      Set<NodeResolution> includedResolutions, int maxDepth, boolean reuseProjectDependencies,
+      Path resolutionCacheDirectory) {
     this.dependenciesResolver = dependenciesResolver;
     this.transitiveIncludeExcludeFilter = transitiveIncludeExcludeFilter;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.maxDepth = maxDepth;
+    this.reuseProjectDependencies = reuseProjectDependencies;
+    this.persistentCache = resolutionCacheDirectory != null
+        ? new PersistentDependencyGraphCache(resolutionCacheDirectory)
+        : null;
   }
 
-  private static RepositorySystemSession getVerboseRepositorySession(MavenProject project) {
+  private RepositorySystemSession getRepositorySession(MavenProject project) {
     @SuppressWarnings("deprecation")
     RepositorySystemSession repositorySession = project.getProjectBuildingRequest().getRepositorySession();
+    // Only the verbose graph contains the nodes that were omitted for conflicts or duplicates
+    if (!requiresVerboseGraph()) {
+      return repositorySession;
+    }
+
     DefaultRepositorySystemSession verboseRepositorySession = new DefaultRepositorySystemSession(repositorySession);
     verboseRepositorySession.setConfigProperty(CONFIG_PROP_VERBOSE, "true");
     verboseRepositorySession.setReadOnly();
@@ -65,9 +123,73 @@ public final class MavenGraphAdapter {
 
   public void buildDependencyGraph(MavenProject project, ArtifactFilter globalFilter,
       GraphBuilder<DependencyNode> graphBuilder) {
+    buildDependencyGraph(project, getDependencyGraph(project), globalFilter, graphBuilder);
+  }
+
+  /**
+   * Returns the dependency graph of the given project, either from the project's dependencies or by resolving it. This
+   * method may be called concurrently for different projects.
+   *
+   * @param project The project.
+   * @return The root node of the dependency graph.
+   * @throws DependencyGraphException If the dependencies cannot be resolved.
+   */
+  org.eclipse.aether.graph.DependencyNode getDependencyGraph(MavenProject project) {
+    org.eclipse.aether.graph.DependencyNode root = null;
+    if (this.reuseProjectDependencies && !requiresVerboseGraph()) {
+      root = createDependencyGraphFromProject(project);
+    }
+    if (root == null) {
+      root = resolveDependencyGraph(project);
+    }
+
+    return root;
+  }
+
+  /**
+   * Adds the given dependency graph of the given project to the graph builder.
+   *
+   * @param project The project.
+   * @param root The root node of the project's dependency graph.
+   * @param globalFilter Filter for all dependencies.
+   * @param graphBuilder The graph builder.
+   */
+  void buildDependencyGraph(MavenProject project, org.eclipse.aether.graph.DependencyNode root,
+      ArtifactFilter globalFilter, GraphBuilder<DependencyNode> graphBuilder) {
+    ArtifactFilter transitiveDependencyFilter = createTransitiveDependencyFilter(project);
+
+    GraphBuildingVisitor visitor = new GraphBuildingVisitor(graphBuilder, globalFilter, transitiveDependencyFilter,
+        this.targetFilter, this.includedResolutions, this.maxDepth);
+    root.accept(visitor);
+  }
+
+  /**
+   * Resolves the dependency graph of the given project. Resolved graphs are cached for the duration of the build, so
+   * that other executions of this plugin for the same project do not need to resolve them again. If a resolution cache
+   * directory is configured, the graphs are also kept across builds.
+   */
+  private org.eclipse.aether.graph.DependencyNode resolveDependencyGraph(MavenProject project) {
+    RepositorySystemSession repositorySession = getRepositorySession(project);
+    // The resolution always covers all scopes, only the verbosity makes a difference
+    String cacheKey = project.getId() + ":" + (requiresVerboseGraph() ? "verbose" : "default");
+    DependencyGraphCache cache = DependencyGraphCache.forSession(repositorySession);
+    org.eclipse.aether.graph.DependencyNode root = cache.get(cacheKey);
+    if (root != null) {
+      return root;
+    }
+
+    String persistentKey = createPersistentKey(project, repositorySession);
+    if (persistentKey != null) {
+      root = this.persistentCache.load(persistentKey);
+      if (root != null) {
+        cache.put(cacheKey, root);
+        return root;
+      }
+    }
+
     DefaultDependencyResolutionRequest request = new DefaultDependencyResolutionRequest();
     request.setMavenProject(project);
-    request.setRepositorySession(getVerboseRepositorySession(project));
+    request.setRepositorySession(repositorySession);
 
     DependencyResolutionResult result;
     try {
@@ -76,25 +198,79 @@ public final class MavenGraphAdapter {
       throw new DependencyGraphException(e);
     }
 
-    org.eclipse.aether.graph.DependencyNode root = result.getDependencyGraph();
-    ArtifactFilter transitiveDependencyFilter = createTransitiveDependencyFilter(project);
+    root = result.getDependencyGraph();
+    cache.put(cacheKey, root);
+    if (persistentKey != null) {
+      this.persistentCache.store(persistentKey, root, repositorySession.getWorkspaceReader());
+    }
+    return root;
+  }
 
-    GraphBuildingVisitor visitor = new GraphBuildingVisitor(graphBuilder, globalFilter, transitiveDependencyFilter,
-        this.targetFilter, this.includedResolutions);
-    root.accept(visitor);
+  private String createPersistentKey(MavenProject project, RepositorySystemSession repositorySession) {
+    if (this.persistentCache == null) {
+      return null;
+    }
+
+    try {
+      return PersistentDependencyGraphCache.createKey(project, repositorySession, requiresVerboseGraph());
+    } catch (IOException e) {
+      // Without a key the graph is simply resolved
+      return null;
+    }
+  }
+
+  /**
+   * Rebuilds the non-verbose dependency graph from the artifacts that Maven already collected for the project. The
+   * artifacts are in the order of the collected graph and the dependency trail of each artifact is its path from the
+   * project.
+   *
+   * @param project The project.
+   * @return The root node of the graph or {@code null} if the project's artifacts do not describe a complete graph.
+   */
+  private static org.eclipse.aether.graph.DependencyNode createDependencyGraphFromProject(MavenProject project) {
+    // Maven did not collect the dependencies, e.g. for other projects of the reactor when running an aggregator goal
+    if (project.getArtifacts().isEmpty() && !project.getDependencies().isEmpty()) {
+      return null;
+    }
+
+    Artifact projectArtifact = project.getArtifact();
+    DefaultDependencyNode root = new DefaultDependencyNode(RepositoryUtils.toArtifact(projectArtifact));
+    root.setChildren(new ArrayList<>());
+
+    Map<String, DefaultDependencyNode> nodes = new HashMap<>();
+    nodes.put(projectArtifact.getId(), root);
+    for (Artifact artifact : project.getArtifacts()) {
+      List<String> trail = artifact.getDependencyTrail();
+      DefaultDependencyNode parent = trail != null && trail.size() >= 2 ? nodes.get(trail.get(trail.size() - 2)) : null;
+      if (parent == null) {
+        return null;
+      }
+
+      DefaultDependencyNode node = new DefaultDependencyNode(RepositoryUtils.toDependency(artifact, emptyList()));
+      node.setChildren(new ArrayList<>());
+      parent.getChildren().add(node);
+      nodes.put(artifact.getId(), node);
+    }
+
+    return root;
+  }
+
+  private boolean requiresVerboseGraph() {
+    return this.includedResolutions.contains(NodeResolution.OMITTED_FOR_CONFLICT)
+        || this.includedResolutions.contains(NodeResolution.OMITTED_FOR_DUPLICATE);
   }
 
   private ArtifactFilter createTransitiveDependencyFilter(MavenProject project) {
-    List<String> dependencyKeys = new ArrayList<>(project.getDependencies().size());
+    List<String> dependencyKeys = new ArrayList<>(project.getDependencies().size() + 1);
     for (Dependency dependency : project.getDependencies()) {
       dependencyKeys.add(dependency.getManagementKey());
     }
+    dependencyKeys.add(project.getArtifact().toString());
 
     // Matches direct dependencies or the configured transitive dependencies or the project itself
     OrArtifactFilter artifactFilter = new OrArtifactFilter();
     artifactFilter.add(this.transitiveIncludeExcludeFilter);
-    artifactFilter.add(new StrictPatternIncludesArtifactFilter(dependencyKeys));
-    artifactFilter.add(new StrictPatternIncludesArtifactFilter(singletonList(project.getArtifact().toString())));
+    artifactFilter.add(new PatternArtifactFilter(dependencyKeys, emptyList()));
 
     return artifactFilter;
   }
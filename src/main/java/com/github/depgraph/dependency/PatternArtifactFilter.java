@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * Artifact filter for include and exclude patterns with the same semantics as the combination of
+ * {@link org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter} and
+ * {@link org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter}. The patterns are matched
+ * against {@code groupId:artifactId:type:baseVersion}. An artifact is included if it matches at least one include
+ * pattern (or if there are no include patterns) and if it does not match any of the exclude patterns.
+ * <p>
+ * The patterns are parsed once and indexed by their group ID. The decision for each distinct coordinate is cached, so
+ * filtering the same coordinates again is a simple lookup.
+ * </p>
+ */
+public final class PatternArtifactFilter implements ArtifactFilter {
+
+  private final PatternIndex includes;
+  private final PatternIndex excludes;
+  private final Map<String, Boolean> decisions;
+
+  public PatternArtifactFilter(Collection<String> includes, Collection<String> excludes) {
+    this.includes = includes.isEmpty() ? null : new PatternIndex(includes);
+    this.excludes = new PatternIndex(excludes);
+    this.decisions = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public boolean include(Artifact artifact) {
+    String[] tokens = {artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), artifact.getBaseVersion()};
+    String key = String.join(":", tokens[0], tokens[1], tokens[2], tokens[3]);
+
+    Boolean decision = this.decisions.get(key);
+    if (decision == null) {
+      decision = (this.includes == null || this.includes.matches(tokens)) && !this.excludes.matches(tokens);
+      this.decisions.put(key, decision);
+    }
+
+    return decision;
+  }
+
+  /**
+   * Patterns grouped by their group ID. Patterns with a wildcard group ID have to be checked for every artifact.
+   */
+  private static final class PatternIndex {
+
+    private final Map<String, List<Pattern>> patternsByGroupId = new HashMap<>();
+    private final List<Pattern> wildcardPatterns = new ArrayList<>();
+
+    PatternIndex(Collection<String> patterns) {
+      for (String pattern : patterns) {
+        String[] tokens = pattern.split(":");
+        // Patterns with more tokens than the artifact never match
+        if (tokens.length > 4) {
+          continue;
+        }
+
+        Pattern compiledPattern = new Pattern(tokens);
+        if (tokens.length > 0 && compiledPattern.tokens[0].type == TokenType.EQUALS) {
+          this.patternsByGroupId.computeIfAbsent(tokens[0], k -> new ArrayList<>()).add(compiledPattern);
+        } else {
+          this.wildcardPatterns.add(compiledPattern);
+        }
+      }
+    }
+
+    boolean matches(String[] artifactTokens) {
+      List<Pattern> candidates = this.patternsByGroupId.getOrDefault(artifactTokens[0], Collections.emptyList());
+      for (Pattern pattern : candidates) {
+        if (pattern.matches(artifactTokens)) {
+          return true;
+        }
+      }
+
+      for (Pattern pattern : this.wildcardPatterns) {
+        if (pattern.matches(artifactTokens)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
+  private static final class Pattern {
+
+    private final PatternToken[] tokens;
+
+    Pattern(String[] tokens) {
+      this.tokens = new PatternToken[tokens.length];
+      for (int i = 0; i < tokens.length; i++) {
+        this.tokens[i] = new PatternToken(tokens[i]);
+      }
+    }
+
+    boolean matches(String[] artifactTokens) {
+      for (int i = 0; i < this.tokens.length; i++) {
+        if (!this.tokens[i].matches(artifactTokens[i])) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+
+  private enum TokenType {
+    ANY, CONTAINS, ENDS_WITH, STARTS_WITH, VERSION_RANGE, EQUALS
+  }
+
+  private static final class PatternToken {
+
+    private final TokenType type;
+    private final String value;
+    private final VersionRange versionRange;
+
+    PatternToken(String token) {
+      VersionRange range = null;
+      if ("*".equals(token) || token.isEmpty()) {
+        this.type = TokenType.ANY;
+        this.value = token;
+      } else if (token.startsWith("*") && token.endsWith("*")) {
+        this.type = TokenType.CONTAINS;
+        this.value = token.substring(1, token.length() - 1);
+      } else if (token.startsWith("*")) {
+        this.type = TokenType.ENDS_WITH;
+        this.value = token.substring(1);
+      } else if (token.endsWith("*")) {
+        this.type = TokenType.STARTS_WITH;
+        this.value = token.substring(0, token.length() - 1);
+      } else if (token.startsWith("[") || token.startsWith("(")) {
+        this.type = TokenType.VERSION_RANGE;
+        this.value = token;
+        try {
+          range = VersionRange.createFromVersionSpec(token);
+        } catch (InvalidVersionSpecificationException e) {
+          // An invalid range does not match anything
+        }
+      } else {
+        this.type = TokenType.EQUALS;
+        this.value = token;
+      }
+
+      this.versionRange = range;
+    }
+
+    boolean matches(String artifactToken) {
+      switch (this.type) {
+        case ANY:
+          return true;
+        case CONTAINS:
+          return artifactToken.contains(this.value);
+        case ENDS_WITH:
+          return artifactToken.endsWith(this.value);
+        case STARTS_WITH:
+          return artifactToken.startsWith(this.value);
+        case VERSION_RANGE:
+          return this.versionRange != null
+              && this.versionRange.containsVersion(new DefaultArtifactVersion(artifactToken));
+        default:
+          return artifactToken.equals(this.value);
+      }
+    }
+  }
+}
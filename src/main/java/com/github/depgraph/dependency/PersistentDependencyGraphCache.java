@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.aether.util.graph.transformer.ConflictResolver.NODE_DATA_WINNER;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+
+/**
+ * Stores resolved dependency graphs on disk, so that later builds of an unchanged project do not need to resolve them
+ * again. A graph is identified by a hash over the project's effective POM, its active profiles, its repositories and
+ * the verbosity of the resolution.
+ * <p>
+ * Only the information that is needed to build the dependency graph is stored. Subtrees that are shared in the resolved
+ * graph are stored once and are shared again when the graph is loaded. Graphs containing SNAPSHOT versions or version
+ * ranges are not stored, because their resolution may change while the POM stays the same. The project itself and the
+ * modules of the reactor are exempt from this rule: The project's POM is part of the key and the POMs of the reactor
+ * modules are stored with the graph, which is not loaded anymore as soon as one of them changes.
+ * </p>
+ */
+final class PersistentDependencyGraphCache {
+
+  private static final int MAGIC = 0x44474331;
+  private static final int FORMAT_VERSION = 2;
+  private static final String FILE_EXTENSION = ".graph";
+  private static final String TYPE_PROPERTY = "type";
+
+  private final Path directory;
+
+  PersistentDependencyGraphCache(Path directory) {
+    this.directory = directory;
+  }
+
+  static String createKey(MavenProject project, RepositorySystemSession session, boolean verbose) throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putString(hasher, String.valueOf(FORMAT_VERSION));
+    putString(hasher, String.valueOf(verbose));
+
+    try (OutputStream modelStream = Funnels.asOutputStream(hasher)) {
+      new MavenXpp3Writer().write(modelStream, project.getModel());
+    }
+
+    for (String profileId : new TreeSet<>(project.getInjectedProfileIds().keySet())) {
+      putString(hasher, profileId);
+      project.getInjectedProfileIds().get(profileId).forEach(id -> putString(hasher, id));
+    }
+    if (project.getRemoteProjectRepositories() != null) {
+      for (RemoteRepository repository : project.getRemoteProjectRepositories()) {
+        putString(hasher, repository.getId());
+        putString(hasher, repository.getUrl());
+      }
+    }
+    if (session.getLocalRepository() != null) {
+      putString(hasher, String.valueOf(session.getLocalRepository().getBasedir()));
+    }
+
+    return hasher.hash().toString();
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    // Terminate each value, so that "ab", "c" and "a", "bc" produce different hashes
+    hasher.putString(value != null ? value : "", UTF_8).putByte((byte) 0);
+  }
+
+  /**
+   * Loads the graph with the given key.
+   *
+   * @param key The key of the graph.
+   * @return The root node of the graph or {@code null} if the graph is not stored or cannot be read.
+   */
+  DependencyNode load(String key) {
+    Path file = this.directory.resolve(key + FILE_EXTENSION);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+        return null;
+      }
+
+      int reactorPomCount = in.readInt();
+      for (int i = 0; i < reactorPomCount; i++) {
+        Path pomFile = Paths.get(in.readUTF());
+        if (!in.readUTF().equals(hashFile(pomFile))) {
+          return null;
+        }
+      }
+
+      return new GraphReader(in).readNode();
+    } catch (IOException | RuntimeException e) {
+      // The cache is only an optimization, the graph will be resolved again
+      return null;
+    }
+  }
+
+  /**
+   * Stores the given graph unless it contains SNAPSHOT versions or version ranges.
+   *
+   * @param key The key of the graph.
+   * @param root The root node of the graph.
+   * @return {@code true} if the graph was stored, {@code false} else.
+   */
+  boolean store(String key, DependencyNode root) {
+    return store(key, root, null);
+  }
+
+  /**
+   * Stores the given graph unless it contains SNAPSHOT versions or version ranges outside the project and the modules
+   * of the reactor.
+   *
+   * @param key The key of the graph.
+   * @param root The root node of the graph.
+   * @param reactor The reader for the modules of the reactor or {@code null} if there is no reactor.
+   * @return {@code true} if the graph was stored, {@code false} else.
+   */
+  boolean store(String key, DependencyNode root, WorkspaceReader reactor) {
+    Map<Path, String> reactorPoms = new TreeMap<>();
+    Set<DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    visited.add(root);
+    for (DependencyNode child : root.getChildren()) {
+      if (!isStable(child, reactor, visited, reactorPoms)) {
+        return false;
+      }
+    }
+
+    try {
+      Files.createDirectories(this.directory);
+      Path tempFile = Files.createTempFile(this.directory, key, ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(key);
+        out.writeInt(reactorPoms.size());
+        for (Map.Entry<Path, String> reactorPom : reactorPoms.entrySet()) {
+          out.writeUTF(reactorPom.getKey().toString());
+          out.writeUTF(reactorPom.getValue());
+        }
+        new GraphWriter(out).writeNode(root);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(tempFile);
+        throw e;
+      }
+
+      Files.move(tempFile, this.directory.resolve(key + FILE_EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } catch (IOException e) {
+      // The cache is only an optimization, the graph will be resolved again
+      return false;
+    }
+  }
+
+  private static boolean isStable(DependencyNode node, WorkspaceReader reactor, Set<DependencyNode> visited,
+      Map<Path, String> reactorPoms) {
+    if (!visited.add(node)) {
+      return true;
+    }
+
+    if (node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null) {
+      return false;
+    }
+
+    if (node.getArtifact().isSnapshot()) {
+      Path pomFile = findReactorPom(node.getArtifact(), reactor);
+      if (pomFile == null) {
+        return false;
+      }
+
+      try {
+        reactorPoms.put(pomFile, hashFile(pomFile));
+      } catch (IOException e) {
+        return false;
+      }
+    }
+
+    for (DependencyNode child : node.getChildren()) {
+      if (!isStable(child, reactor, visited, reactorPoms)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static Path findReactorPom(Artifact artifact, WorkspaceReader reactor) {
+    if (reactor == null) {
+      return null;
+    }
+
+    Artifact pom = new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "pom", artifact.getVersion());
+    File pomFile = reactor.findArtifact(pom);
+    return pomFile != null && pomFile.isFile() ? pomFile.toPath().toAbsolutePath() : null;
+  }
+
+  private static String hashFile(Path file) throws IOException {
+    return Hashing.sha256().hashBytes(Files.readAllBytes(file)).toString();
+  }
+
+  /**
+   * Writes each node once. Nodes are referenced by the index in which they were written, strings by the index in
+   * which they first occurred.
+   */
+  private static final class GraphWriter {
+
+    private final DataOutputStream out;
+    private final Map<DependencyNode, Integer> nodeIndexes = new IdentityHashMap<>();
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+    GraphWriter(DataOutputStream out) {
+      this.out = out;
+    }
+
+    void writeNode(DependencyNode node) throws IOException {
+      Integer index = this.nodeIndexes.get(node);
+      if (index != null) {
+        this.out.writeInt(index);
+        return;
+      }
+
+      this.out.writeInt(this.nodeIndexes.size());
+      this.nodeIndexes.put(node, this.nodeIndexes.size());
+
+      Artifact artifact = node.getArtifact();
+      writeString(artifact.getGroupId());
+      writeString(artifact.getArtifactId());
+      writeString(artifact.getClassifier());
+      writeString(artifact.getExtension());
+      writeString(artifact.getVersion());
+      writeString(artifact.getProperty(TYPE_PROPERTY, null));
+
+      Dependency dependency = node.getDependency();
+      this.out.writeBoolean(dependency != null);
+      if (dependency != null) {
+        writeString(dependency.getScope());
+        this.out.writeBoolean(dependency.isOptional());
+      }
+
+      DependencyNode winner = (DependencyNode) node.getData().get(NODE_DATA_WINNER);
+      writeString(winner != null ? winner.getArtifact().getVersion() : null);
+
+      this.out.writeInt(node.getChildren().size());
+      for (DependencyNode child : node.getChildren()) {
+        writeNode(child);
+      }
+    }
+
+    private void writeString(String value) throws IOException {
+      if (value == null) {
+        this.out.writeInt(-1);
+        return;
+      }
+
+      Integer index = this.stringIndexes.get(value);
+      if (index != null) {
+        this.out.writeInt(index);
+      } else {
+        this.out.writeInt(this.stringIndexes.size());
+        this.out.writeUTF(value);
+        this.stringIndexes.put(value, this.stringIndexes.size());
+      }
+    }
+  }
+
+  private static final class GraphReader {
+
+    private final DataInputStream in;
+    private final List<DependencyNode> nodes = new ArrayList<>();
+    private final List<String> strings = new ArrayList<>();
+
+    GraphReader(DataInputStream in) {
+      this.in = in;
+    }
+
+    DependencyNode readNode() throws IOException {
+      int index = this.in.readInt();
+      if (index < this.nodes.size()) {
+        return this.nodes.get(index);
+      }
+
+      String groupId = readString();
+      String artifactId = readString();
+      String classifier = readString();
+      String extension = readString();
+      String version = readString();
+      String type = readString();
+      Map<String, String> properties = type != null
+          ? Collections.singletonMap(TYPE_PROPERTY, type)
+          : Collections.emptyMap();
+      Artifact artifact = new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties,
+          (File) null);
+
+      DefaultDependencyNode node;
+      if (this.in.readBoolean()) {
+        String scope = readString();
+        boolean optional = this.in.readBoolean();
+        node = new DefaultDependencyNode(new Dependency(artifact, scope, optional));
+      } else {
+        node = new DefaultDependencyNode(artifact);
+      }
+      this.nodes.add(node);
+
+      String winnerVersion = readString();
+      if (winnerVersion != null) {
+        node.setData(NODE_DATA_WINNER, new DefaultDependencyNode(artifact.setVersion(winnerVersion)));
+      }
+
+      int childCount = this.in.readInt();
+      List<DependencyNode> children = new ArrayList<>(childCount);
+      for (int i = 0; i < childCount; i++) {
+        children.add(readNode());
+      }
+      node.setChildren(children);
+
+      return node;
+    }
+
+    private String readString() throws IOException {
+      int index = this.in.readInt();
+      if (index < 0) {
+        return null;
+      }
+      if (index == this.strings.size()) {
+        this.strings.add(this.in.readUTF());
+      }
+
+      return this.strings.get(index);
+    }
+  }
+}
@@ -16,6 +16,8 @@
 package com.github.depgraph.dependency;
 
 import com.github.depgraph.graph.GraphBuilder;
+import java.io.IOException;
+import java.io.Writer;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.project.MavenProject;
@@ -28,16 +30,23 @@ public class SimpleGraphFactory implements GraphFactory {
   private final MavenGraphAdapter mavenGraphAdapter;
   private final ArtifactFilter globalFilter;
   private final GraphBuilder<DependencyNode> graphBuilder;
+  private final boolean reduceEdges;
 
   public SimpleGraphFactory(MavenGraphAdapter mavenGraphAdapter, ArtifactFilter globalFilter,
       GraphBuilder<DependencyNode> graphBuilder) {
+    this(mavenGraphAdapter, globalFilter, graphBuilder, false);
+  }
+
+  public SimpleGraphFactory(MavenGraphAdapter mavenGraphAdapter, ArtifactFilter globalFilter,
+      GraphBuilder<DependencyNode> graphBuilder, boolean reduceEdges) {
     this.mavenGraphAdapter = mavenGraphAdapter;
     this.globalFilter = globalFilter;
     this.graphBuilder = graphBuilder;
+    this.reduceEdges = reduceEdges;
   }
 
   @Override
-  public String createGraph(MavenProject project) {
+  public void writeGraph(MavenProject project, Writer writer) throws IOException {
     this.graphBuilder.graphName(project.getArtifactId());
     this.mavenGraphAdapter.buildDependencyGraph(project, this.globalFilter, this.graphBuilder);
 
@@ -47,7 +56,11 @@ public class SimpleGraphFactory implements GraphFactory {
       this.graphBuilder.addNode(new DependencyNode(artifact));
     }
 
-    return this.graphBuilder.toString();
+    if (this.reduceEdges) {
+      this.graphBuilder.reduceEdges();
+    }
+
+    this.graphBuilder.writeTo(writer);
   }
 
 }
@@ -22,14 +22,23 @@ import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.depgraph.dependency.DependencyNode;
 import com.github.depgraph.dependency.NodeResolution;
+import com.github.depgraph.graph.EdgeAttributeRenderer;
 import com.github.depgraph.graph.EdgeRenderer;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class Neo4jDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
+public class Neo4jDependencyEdgeRenderer implements EdgeRenderer<DependencyNode>,
+    EdgeAttributeRenderer<DependencyNode> {
 
   private final boolean renderVersions;
   private final ObjectMapper objectMapper;
+  // Edges only differ in scope and resolution, so the attributes and their JSON are rendered once per combination
+  private final Map<String, Map<String, Object>> attributeCache = new ConcurrentHashMap<>();
+  private final Map<String, String> jsonCache = new ConcurrentHashMap<>();
 
   public Neo4jDependencyEdgeRenderer(boolean renderVersions) {
     this.renderVersions = renderVersions;
@@ -40,13 +49,21 @@ public class Neo4jDependencyEdgeRenderer implements EdgeRenderer<DependencyNode>
 
   @Override
   public String render(DependencyNode from, DependencyNode to) {
-    NodeResolution resolution = to.getResolution();
+    return this.jsonCache.computeIfAbsent(cacheKey(to), key -> toJson(renderAttributes(from, to)));
+  }
 
-    DependencyData dependencyData = new DependencyData(to.getEffectiveScope(), resolution);
+  /**
+   * Returns the attributes of the edge. Edges with the same resolution and scope share one unmodifiable map instance.
+   */
+  @Override
+  public Map<String, Object> renderAttributes(DependencyNode from, DependencyNode to) {
+    return this.attributeCache.computeIfAbsent(cacheKey(to), key -> createAttributes(to));
+  }
 
+  private String toJson(Map<String, Object> attributes) {
     StringWriter jsonStringWriter = new StringWriter();
     try {
-      this.objectMapper.writer().writeValue(jsonStringWriter, dependencyData);
+      this.objectMapper.writer().writeValue(jsonStringWriter, attributes);
     } catch (IOException e) {
       // should never happen with StringWriter
       throw new IllegalStateException(e);
@@ -55,14 +72,22 @@ public class Neo4jDependencyEdgeRenderer implements EdgeRenderer<DependencyNode>
     return jsonStringWriter.toString();
   }
 
-  private static class DependencyData {
+  private static String cacheKey(DependencyNode to) {
+    return to.getResolution() + ":" + to.getEffectiveScope();
+  }
 
-    private final NodeResolution resolution;
-    private final String resolutionScope;
+  private static Map<String, Object> createAttributes(DependencyNode to) {
+    NodeResolution resolution = to.getResolution();
+    String resolutionScope = to.getEffectiveScope();
 
-    DependencyData(String resolutionScope, NodeResolution resolution) {
-      this.resolution = resolution;
-      this.resolutionScope = resolutionScope;
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    if (resolution != null) {
+      attributes.put("resolution", resolution.name());
     }
+    if (resolutionScope != null && !resolutionScope.isEmpty()) {
+      attributes.put("resolutionScope", resolutionScope);
+    }
+
+    return Collections.unmodifiableMap(attributes);
   }
 }
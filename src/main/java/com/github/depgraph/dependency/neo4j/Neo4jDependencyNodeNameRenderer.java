@@ -21,12 +21,15 @@ import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.depgraph.dependency.DependencyNode;
+import com.github.depgraph.graph.NodeAttributeRenderer;
 import com.github.depgraph.graph.NodeRenderer;
 import java.io.IOException;
 import java.io.StringWriter;
-import org.apache.maven.artifact.Artifact;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class Neo4jDependencyNodeNameRenderer implements NodeRenderer<DependencyNode> {
+public class Neo4jDependencyNodeNameRenderer implements NodeRenderer<DependencyNode>,
+    NodeAttributeRenderer<DependencyNode> {
 
   private final boolean showGroupId;
   private final boolean showArtifactId;
@@ -52,19 +55,9 @@ public class Neo4jDependencyNodeNameRenderer implements NodeRenderer<DependencyN
 
   @Override
   public String render(DependencyNode node) {
-    Artifact artifact = node.getArtifact();
-    ArtifactData artifactData = new ArtifactData(
-        this.showGroupId ? artifact.getGroupId() : null,
-        this.showArtifactId ? artifact.getArtifactId() : null,
-        this.showVersion ? node.getEffectiveVersion() : null,
-        this.showOptional ? artifact.isOptional() : null,
-        this.showClassifiers ? node.getClassifier() : null,
-        node.getScope(),
-        this.showTypes ? node.getType() : null);
-
     StringWriter jsonStringWriter = new StringWriter();
     try {
-      this.objectMapper.writer().writeValue(jsonStringWriter, artifactData);
+      this.objectMapper.writer().writeValue(jsonStringWriter, renderAttributes(node));
     } catch (IOException e) {
       // should never happen with StringWriter
       throw new IllegalStateException(e);
@@ -73,32 +66,26 @@ public class Neo4jDependencyNodeNameRenderer implements NodeRenderer<DependencyN
     return jsonStringWriter.toString();
   }
 
+  @Override
+  public Map<String, Object> renderAttributes(DependencyNode node) {
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    putIfNotEmpty(attributes, "groupId", this.showGroupId ? node.getGroupId() : null);
+    putIfNotEmpty(attributes, "artifactId", this.showArtifactId ? node.getArtifactId() : null);
+    putIfNotEmpty(attributes, "version", this.showVersion ? node.getEffectiveVersion() : null);
+    putIfNotEmpty(attributes, "optional", this.showOptional ? node.isOptional() : null);
+    putIfNotEmpty(attributes, "classifier", this.showClassifiers ? node.getClassifier() : null);
+    putIfNotEmpty(attributes, "scope", node.getScope());
+    putIfNotEmpty(attributes, "type", this.showTypes ? node.getType() : null);
 
-  private static class ArtifactData {
-
-    private final String groupId;
-    private final String artifactId;
-    private final String version;
-    private final Boolean optional;
-    private final String classifier;
-    private final String scope;
-    private final String type;
+    return attributes;
+  }
 
-    ArtifactData(
-        String groupId,
-        String artifactId,
-        String version,
-        Boolean optional,
-        String classifier,
-        String scope,
-        String type) {
-      this.optional = optional;
-      this.groupId = groupId;
-      this.artifactId = artifactId;
-      this.version = version;
-      this.classifier = classifier;
-      this.scope = scope;
-      this.type = type;
+  /**
+   * Same inclusion rule as the {@code NON_EMPTY} serialization of the JSON names.
+   */
+  private static void putIfNotEmpty(Map<String, Object> attributes, String key, Object value) {
+    if (value != null && !"".equals(value)) {
+      attributes.put(key, value);
     }
   }
 }
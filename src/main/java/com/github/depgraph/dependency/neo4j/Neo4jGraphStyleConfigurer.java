@@ -25,10 +25,11 @@ public class Neo4jGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
 
   @Override
   public GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder) {
+    // The formatter reads the attributes directly, so the nodes and edges don't need JSON names
     return graphBuilder
-        .useNodeNameRenderer(new Neo4jDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes,
-            this.showClassifiers, this.showVersionsOnNodes, this.showOptional))
-        .useEdgeRenderer(new Neo4jDependencyEdgeRenderer(this.showVersionOnEdges))
-        .graphFormatter(new Neo4jGraphFormatter(graphBuilder.getNeo4jUri(), graphBuilder.getNeo4AuthToken()));
+        .useNodeAttributeRenderer(new Neo4jDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId,
+            this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional))
+        .useEdgeAttributeRenderer(new Neo4jDependencyEdgeRenderer(this.showVersionOnEdges))
+        .graphFormatter(new Neo4jGraphFormatter(graphBuilder.getNeo4jSettings()));
   }
 }
@@ -32,7 +32,7 @@ public class TextDependencyEdgeRenderer implements EdgeRenderer<DependencyNode>
       case OMITTED_FOR_CONFLICT:
         String message = "omitted for conflict";
         if (this.showVersions) {
-          message += ": " + to.getArtifact().getVersion();
+          message += ": " + to.getVersion();
         }
 
         return message;
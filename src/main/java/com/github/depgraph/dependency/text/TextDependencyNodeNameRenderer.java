@@ -18,7 +18,6 @@ package com.github.depgraph.dependency.text;
 import com.github.depgraph.dependency.DependencyNode;
 import com.github.depgraph.graph.NodeRenderer;
 import com.google.common.base.Joiner;
-import org.apache.maven.artifact.Artifact;
 
 public class TextDependencyNodeNameRenderer implements NodeRenderer<DependencyNode> {
 
@@ -43,17 +42,15 @@ public class TextDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
 
   @Override
   public String render(DependencyNode node) {
-    Artifact artifact = node.getArtifact();
-
     String artifactString = COLON_JOINER.join(
-        this.showGroupId ? artifact.getGroupId() : null,
-        this.showArtifactId ? artifact.getArtifactId() : null,
+        this.showGroupId ? node.getGroupId() : null,
+        this.showArtifactId ? node.getArtifactId() : null,
         this.showVersion ? node.getEffectiveVersion() : null,
         this.showTypes ? node.getType() : null,
         this.showClassifiers ? node.getClassifier() : null,
         node.getScope());
 
-    if (this.showOptional && artifact.isOptional()) {
+    if (this.showOptional && node.isOptional()) {
       return artifactString + " (optional)";
     }
 
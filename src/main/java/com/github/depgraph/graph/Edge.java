@@ -15,13 +15,16 @@
  */
 package com.github.depgraph.graph;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 
 public final class Edge {
 
   private final String fromNodeId;
   private final String toNodeId;
-  private final String name;
+  // Interned, so it can be compared by reference
+  private final EdgePayload payload;
   // Not part of equals()/hashCode()
   private final boolean permanent;
 
@@ -30,9 +33,13 @@ public final class Edge {
   }
 
   public Edge(String fromNodeId, String toNodeId, String name, boolean permanent) {
+    this(fromNodeId, toNodeId, name, permanent, Collections.emptyMap());
+  }
+
+  public Edge(String fromNodeId, String toNodeId, String name, boolean permanent, Map<String, Object> attributes) {
     this.fromNodeId = fromNodeId;
     this.toNodeId = toNodeId;
-    this.name = name;
+    this.payload = EdgePayload.of(name, attributes);
     this.permanent = permanent;
   }
 
@@ -45,7 +52,16 @@ public final class Edge {
   }
 
   public String getName() {
-    return this.name;
+    return this.payload.getName();
+  }
+
+  /**
+   * Returns the attributes rendered by an {@link EdgeAttributeRenderer}.
+   *
+   * @return The attributes, empty if no attributes were rendered.
+   */
+  public Map<String, Object> getAttributes() {
+    return this.payload.getAttributes();
   }
 
   public boolean isPermanent() {
@@ -64,16 +80,16 @@ public final class Edge {
     Edge edge = (Edge) o;
     return Objects.equals(this.fromNodeId, edge.fromNodeId)
         && Objects.equals(this.toNodeId, edge.toNodeId)
-        && Objects.equals(this.name, edge.name);
+        && this.payload == edge.payload;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.fromNodeId, this.toNodeId, this.name);
+    return 31 * Objects.hash(this.fromNodeId, this.toNodeId) + this.payload.hashCode();
   }
 
   @Override
   public String toString() {
-    return this.fromNodeId + " -> " + this.toNodeId + " (" + this.name + ")";
+    return this.fromNodeId + " -> " + this.toNodeId + " (" + getName() + ")";
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The rendered name and attributes of an {@link Edge}. Payloads are interned, so all edges with an equal name and equal
+ * attributes share one canonical instance and can be compared by reference. Since most edges only differ in a few
+ * properties such as the scope and resolution of the dependency, there are only few distinct payloads.
+ */
+final class EdgePayload {
+
+  private static final Interner<EdgePayload> INTERNER = Interners.newWeakInterner();
+
+  private final String name;
+  private final Map<String, Object> attributes;
+  private final int hashCode;
+
+  private EdgePayload(String name, Map<String, Object> attributes) {
+    this.name = name;
+    this.attributes = Collections.unmodifiableMap(attributes);
+    this.hashCode = Objects.hash(name, attributes);
+  }
+
+  static EdgePayload of(String name, Map<String, Object> attributes) {
+    return INTERNER.intern(new EdgePayload(name, attributes));
+  }
+
+  String getName() {
+    return this.name;
+  }
+
+  Map<String, Object> getAttributes() {
+    return this.attributes;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EdgePayload)) {
+      return false;
+    }
+
+    EdgePayload other = (EdgePayload) o;
+    return this.hashCode == other.hashCode
+        && Objects.equals(this.name, other.name)
+        && Objects.equals(this.attributes, other.attributes);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hashCode;
+  }
+}
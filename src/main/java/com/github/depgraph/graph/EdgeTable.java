@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Insertion-ordered set of edges between dense integer node IDs. The edges are stored in parallel arrays and indexed by
+ * an open addressing hash table on the pair of node IDs, so no object is created per edge except for its label. Each
+ * distinct pair of node IDs is assigned a dense pair ID.
+ *
+ * @param <L> Type of the edge labels.
+ */
+final class EdgeTable<L> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] from = new int[INITIAL_CAPACITY];
+  private int[] to = new int[INITIAL_CAPACITY];
+  private int[] pairIds = new int[INITIAL_CAPACITY];
+  private Object[] labels = new Object[INITIAL_CAPACITY];
+  private final BitSet permanent = new BitSet();
+  private final BitSet removed = new BitSet();
+  private int size;
+  private int pairCount;
+
+  // Slots contain the edge index + 1, 0 marks an empty slot
+  private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+  /**
+   * Adds the given edge unless an equal edge, i.e. an edge with the same nodes and an equal label, is already present.
+   * The permanent flag of an already present edge is not changed.
+   *
+   * @return {@code true} if the edge was added.
+   */
+  boolean add(int fromId, int toId, L label, boolean permanentEdge) {
+    int mask = this.slots.length - 1;
+    int slot = hash(fromId, toId) & mask;
+    int pairId = -1;
+    for (int entry = this.slots[slot]; entry != 0; entry = this.slots[slot]) {
+      int index = entry - 1;
+      if (this.from[index] == fromId && this.to[index] == toId) {
+        pairId = this.pairIds[index];
+        if (!this.removed.get(index) && Objects.equals(this.labels[index], label)) {
+          return false;
+        }
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (this.size == this.from.length) {
+      int capacity = this.size * 2;
+      this.from = Arrays.copyOf(this.from, capacity);
+      this.to = Arrays.copyOf(this.to, capacity);
+      this.labels = Arrays.copyOf(this.labels, capacity);
+      this.pairIds = Arrays.copyOf(this.pairIds, capacity);
+    }
+
+    int index = this.size++;
+    this.from[index] = fromId;
+    this.to[index] = toId;
+    this.labels[index] = label;
+    this.pairIds[index] = pairId >= 0 ? pairId : this.pairCount++;
+    this.permanent.set(index, permanentEdge);
+    this.slots[slot] = index + 1;
+
+    if (this.size * 2 > this.slots.length) {
+      rehash();
+    }
+
+    return true;
+  }
+
+  /**
+   * Whether an edge between the given nodes was ever added, no matter what its label is or whether it was removed.
+   */
+  boolean containsPair(int fromId, int toId) {
+    int mask = this.slots.length - 1;
+    for (int slot = hash(fromId, toId) & mask; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+      int index = this.slots[slot] - 1;
+      if (this.from[index] == fromId && this.to[index] == toId) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the number of edges including the removed ones. Use {@link #isRemoved(int)} while iterating.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of distinct pairs of node IDs, which is an upper bound for the pair IDs.
+   */
+  int getPairCount() {
+    return this.pairCount;
+  }
+
+  int getPairId(int index) {
+    return this.pairIds[index];
+  }
+
+  int getFrom(int index) {
+    return this.from[index];
+  }
+
+  int getTo(int index) {
+    return this.to[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  L getLabel(int index) {
+    return (L) this.labels[index];
+  }
+
+  boolean isPermanent(int index) {
+    return this.permanent.get(index);
+  }
+
+  boolean isRemoved(int index) {
+    return this.removed.get(index);
+  }
+
+  void remove(int index) {
+    this.removed.set(index);
+  }
+
+  private void rehash() {
+    this.slots = new int[this.slots.length * 2];
+    int mask = this.slots.length - 1;
+    for (int index = 0; index < this.size; index++) {
+      int slot = hash(this.from[index], this.to[index]) & mask;
+      while (this.slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      this.slots[slot] = index + 1;
+    }
+  }
+
+  private static int hash(int fromId, int toId) {
+    int hash = fromId * 0x9E3779B9 + toId;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -15,16 +15,21 @@
  */
 package com.github.depgraph.graph;
 
+import com.github.depgraph.graph.neo4j.Neo4jSettings;
 import com.github.depgraph.graph.text.TextGraphFormatter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.neo4j.driver.v1.AuthToken;
 
 /**
  * A builder to create <a href="http://www.graphviz.org/doc/info/lang.html">DOT</a> strings by defining edges between
@@ -35,29 +40,40 @@ import org.neo4j.driver.v1.AuthToken;
 public final class GraphBuilder<T> {
 
   private final NodeRenderer<? super T> nodeIdRenderer;
-  private final Map<String, Node<T>> nodeDefinitions;
-  private final Set<Edge> edges;
+  // Each rendered node ID is assigned a dense int ID, which is the index into nodeDefinitions
+  private final Map<String, Integer> nodeIds;
+  private final List<Node<T>> nodeDefinitions;
+  // The nodes from which the current node definitions were rendered, so that they are not rendered again
+  private final Map<T, Integer> renderedNodes;
+  private long renderCacheHits;
+  private long renderCacheMisses;
+  private final EdgeTable<PendingEdge<T>> edges;
   private final ReachabilityMap reachabilityMap;
 
   private String graphName;
   private GraphFormatter graphFormatter;
   private NodeRenderer<? super T> nodeNameRenderer;
   private EdgeRenderer<? super T> edgeRenderer;
+  private NodeAttributeRenderer<? super T> nodeAttributeRenderer;
+  private EdgeAttributeRenderer<? super T> edgeAttributeRenderer;
   private boolean omitSelfReferences;
 
-  private String neo4jUri;
-  private AuthToken neo4AuthToken;
+  private Neo4jSettings neo4jSettings;
 
   private GraphBuilder(NodeRenderer<? super T> nodeIdRenderer) {
     this.nodeIdRenderer = nodeIdRenderer;
-    this.nodeDefinitions = new LinkedHashMap<>();
-    this.edges = new LinkedHashSet<>();
+    this.nodeIds = new HashMap<>();
+    this.nodeDefinitions = new ArrayList<>();
+    this.renderedNodes = new IdentityHashMap<>();
+    this.edges = new EdgeTable<>();
     this.reachabilityMap = new ReachabilityMap();
 
     this.graphName = "G";
     this.graphFormatter = new TextGraphFormatter(true);
     this.nodeNameRenderer = createDefaultNodeNameRenderer();
     this.edgeRenderer = createDefaultEdgeRenderer();
+    this.nodeAttributeRenderer = createDefaultNodeAttributeRenderer();
+    this.edgeAttributeRenderer = createDefaultEdgeAttributeRenderer();
   }
 
   public static <T> GraphBuilder<T> create(NodeRenderer<? super T> nodeIdRenderer) {
@@ -72,6 +88,14 @@ public final class GraphBuilder<T> {
     return node -> "";
   }
 
+  private static <T> EdgeAttributeRenderer<T> createDefaultEdgeAttributeRenderer() {
+    return (from, to) -> Collections.emptyMap();
+  }
+
+  private static <T> NodeAttributeRenderer<T> createDefaultNodeAttributeRenderer() {
+    return node -> Collections.emptyMap();
+  }
+
   public GraphBuilder<T> graphName(String name) {
     this.graphName = name;
     return this;
@@ -79,6 +103,7 @@ public final class GraphBuilder<T> {
 
   public GraphBuilder<T> useNodeNameRenderer(NodeRenderer<? super T> nodeNameRenderer) {
     this.nodeNameRenderer = nodeNameRenderer;
+    this.renderedNodes.clear();
     return this;
   }
 
@@ -87,6 +112,17 @@ public final class GraphBuilder<T> {
     return this;
   }
 
+  public GraphBuilder<T> useNodeAttributeRenderer(NodeAttributeRenderer<? super T> nodeAttributeRenderer) {
+    this.nodeAttributeRenderer = nodeAttributeRenderer;
+    this.renderedNodes.clear();
+    return this;
+  }
+
+  public GraphBuilder<T> useEdgeAttributeRenderer(EdgeAttributeRenderer<? super T> edgeAttributeRenderer) {
+    this.edgeAttributeRenderer = edgeAttributeRenderer;
+    return this;
+  }
+
   public GraphBuilder<T> omitSelfReferences() {
     this.omitSelfReferences = true;
     return this;
@@ -97,13 +133,8 @@ public final class GraphBuilder<T> {
     return this;
   }
 
-  public GraphBuilder<T> neo4jUri(String neo4jUri) {
-    this.neo4jUri = neo4jUri;
-    return this;
-  }
-
-  public GraphBuilder<T> neo4AuthToken(AuthToken neo4AuthToken) {
-    this.neo4AuthToken = neo4AuthToken;
+  public GraphBuilder<T> neo4jSettings(Neo4jSettings neo4jSettings) {
+    this.neo4jSettings = neo4jSettings;
     return this;
   }
 
@@ -118,10 +149,7 @@ public final class GraphBuilder<T> {
    * @return This builder.
    */
   public GraphBuilder<T> addNode(T node) {
-    String nodeId = this.nodeIdRenderer.render(node);
-    String nodeName = this.nodeNameRenderer.render(node);
-    this.nodeDefinitions.put(nodeId, new Node<>(nodeId, nodeName, node));
-
+    addNodeInternal(node);
     return this;
   }
 
@@ -140,38 +168,149 @@ public final class GraphBuilder<T> {
    * @return The firstly added node or the given node if not present.
    */
   public T getEffectiveNode(T node) {
-    String key = this.nodeIdRenderer.render(node);
-    if (this.nodeDefinitions.containsKey(key)) {
-      return this.nodeDefinitions.get(key).nodeObject;
+    Integer id = this.renderedNodes.get(node);
+    if (id != null) {
+      return node;
+    }
+
+    id = this.nodeIds.get(this.nodeIdRenderer.render(node));
+    if (id != null) {
+      return this.nodeDefinitions.get(id).nodeObject;
     }
 
     return node;
   }
 
+  /**
+   * Returns how often a node did not need to be rendered because it was already added to this builder.
+   *
+   * @return The number of render cache hits.
+   */
+  public long getRenderCacheHits() {
+    return this.renderCacheHits;
+  }
+
+  /**
+   * Returns how often a node had to be rendered when it was added to this builder.
+   *
+   * @return The number of render cache misses.
+   */
+  public long getRenderCacheMisses() {
+    return this.renderCacheMisses;
+  }
+
   public void reduceEdges() {
-    this.edges.removeIf(
-        edge -> !edge.isPermanent() && this.reachabilityMap.hasOlderPath(edge.getToNodeId(), edge.getFromNodeId()));
+    for (int i = 0; i < this.edges.size(); i++) {
+      if (!this.edges.isRemoved(i) && !this.edges.isPermanent(i)
+          && this.reachabilityMap.hasOlderPath(this.edges.getTo(i), this.edges.getFrom(i))) {
+        this.edges.remove(i);
+      }
+    }
   }
 
-  public String getNeo4jUri() {
-    return neo4jUri;
+  public Neo4jSettings getNeo4jSettings() {
+    return this.neo4jSettings;
   }
 
-  public AuthToken getNeo4AuthToken() {
-    return neo4AuthToken;
+  /**
+   * Formats the graph directly to the given writer, without creating its string representation first.
+   *
+   * @param writer The writer. It is neither flushed nor closed.
+   * @throws IOException If writing to {@code writer} fails.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    this.graphFormatter.format(this.graphName, getNodeList(), getEdgeSet(), writer);
   }
 
   @Override
   public String toString() {
+    return this.graphFormatter.format(this.graphName, getNodeList(), getEdgeSet());
+  }
+
+  private ImmutableList<Node<?>> getNodeList() {
     // Work around some generics restrictions
     ImmutableList.Builder<Node<?>> nodeListBuilder = ImmutableList.builder();
-    for (Node<?> node : this.nodeDefinitions.values()) {
+    for (Node<?> node : this.nodeDefinitions) {
       nodeListBuilder.add(node);
     }
-    ImmutableList<Node<?>> nodeList = nodeListBuilder.build();
-    ImmutableSet<Edge> edgeSet = ImmutableSet.copyOf(this.edges);
 
-    return this.graphFormatter.format(this.graphName, nodeList, edgeSet);
+    return nodeListBuilder.build();
+  }
+
+  /**
+   * Renders the edges that reach the formatter. Edges that render equally are merged, keeping the first one. A removed
+   * edge is only rendered if a later edge between the same nodes is not removed, because the later edge must be
+   * dropped, too, if it renders like the removed one.
+   */
+  private ImmutableSet<Edge> getEdgeSet() {
+    int edgeCount = this.edges.size();
+    BitSet renderedEdges = new BitSet(edgeCount);
+    BitSet pairsWithRemainingEdges = new BitSet(this.edges.getPairCount());
+    for (int i = edgeCount - 1; i >= 0; i--) {
+      int pairId = this.edges.getPairId(i);
+      if (!this.edges.isRemoved(i)) {
+        renderedEdges.set(i);
+        pairsWithRemainingEdges.set(pairId);
+      } else if (pairsWithRemainingEdges.get(pairId)) {
+        renderedEdges.set(i);
+      }
+    }
+
+    ImmutableSet.Builder<Edge> edgeSetBuilder = ImmutableSet.builder();
+    Set<Edge> removedEdges = new HashSet<>();
+    for (int i = renderedEdges.nextSetBit(0); i >= 0; i = renderedEdges.nextSetBit(i + 1)) {
+      Edge edge = renderEdge(i);
+      if (this.edges.isRemoved(i)) {
+        removedEdges.add(edge);
+      } else if (!removedEdges.contains(edge)) {
+        edgeSetBuilder.add(edge);
+      }
+    }
+
+    return edgeSetBuilder.build();
+  }
+
+  private Edge renderEdge(int index) {
+    PendingEdge<T> pendingEdge = this.edges.getLabel(index);
+    return new Edge(
+        this.nodeDefinitions.get(this.edges.getFrom(index)).getNodeId(),
+        this.nodeDefinitions.get(this.edges.getTo(index)).getNodeId(),
+        pendingEdge.edgeRenderer.render(pendingEdge.from, pendingEdge.to),
+        this.edges.isPermanent(index),
+        pendingEdge.edgeAttributeRenderer.renderAttributes(pendingEdge.from, pendingEdge.to));
+  }
+
+  /**
+   * Adds or replaces the definition of the given node. If the current definition was rendered from the very same node
+   * instance, the node is not rendered again. Nodes must therefore not change their rendered representation after they
+   * were added.
+   *
+   * @return The ID of the node.
+   */
+  private int addNodeInternal(T node) {
+    Integer renderedId = this.renderedNodes.get(node);
+    if (renderedId != null) {
+      this.renderCacheHits++;
+      return renderedId;
+    }
+    this.renderCacheMisses++;
+
+    String nodeId = this.nodeIdRenderer.render(node);
+    String nodeName = this.nodeNameRenderer.render(node);
+    Node<T> nodeDefinition = new Node<>(nodeId, nodeName, node, this.nodeAttributeRenderer.renderAttributes(node));
+
+    Integer id = this.nodeIds.get(nodeId);
+    if (id == null) {
+      id = this.nodeDefinitions.size();
+      this.nodeIds.put(nodeId, id);
+      this.nodeDefinitions.add(nodeDefinition);
+    } else {
+      Node<T> replacedDefinition = this.nodeDefinitions.set(id, nodeDefinition);
+      this.renderedNodes.remove(replacedDefinition.nodeObject);
+    }
+    this.renderedNodes.put(node, id);
+
+    return id;
   }
 
   /**
@@ -185,97 +324,66 @@ public final class GraphBuilder<T> {
    */
   private GraphBuilder<T> addEdgeInternal(T from, T to, boolean permanent) {
     if (from != null && to != null) {
-      addNode(from);
-      addNode(to);
+      int fromId = addNodeInternal(from);
+      int toId = addNodeInternal(to);
 
-      safelyAddEdge(from, to, permanent);
+      safelyAddEdge(from, fromId, to, toId, permanent);
     }
 
     return this;
   }
 
-  private void safelyAddEdge(T fromNode, T toNode, boolean permanent) {
-    String fromNodeId = this.nodeIdRenderer.render(fromNode);
-    String toNodeId = this.nodeIdRenderer.render(toNode);
+  private void safelyAddEdge(T fromNode, int fromId, T toNode, int toId, boolean permanent) {
+    if (!this.omitSelfReferences || fromId != toId) {
+      if (!this.edges.containsPair(fromId, toId)) {
+        this.reachabilityMap.registerEdge(fromId, toId);
+      }
 
-    if (!this.omitSelfReferences || !fromNodeId.equals(toNodeId)) {
-      Edge edge = new Edge(fromNodeId, toNodeId, this.edgeRenderer.render(fromNode, toNode), permanent);
-      this.edges.add(edge);
-      this.reachabilityMap.registerEdge(fromNodeId, toNodeId);
+      // The name and attributes are rendered when the graph is formatted
+      this.edges.add(fromId, toId, new PendingEdge<>(fromNode, toNode, this.edgeRenderer, this.edgeAttributeRenderer),
+          permanent);
     }
   }
 
   /**
-   * A map that tracks which nodes are reachable from other nodes. When a new edge 'A -> B' is added, the map registers
-   * node 'A' as a parent of node 'B'. To find out whether a node 'Y' is reachable from node 'X', we can recursively
-   * traverse the parents of node 'Y'. When node 'X' is found in this traversal, 'Y' is reachable via 'X'. When all
-   * nodes are traversed and 'X' is not found, 'Y' is not reachable via 'X'. To handle cycles in the graph, the node
-   * traversal keeps track of all already traversed nodes.
+   * An edge whose name and attributes are not rendered yet. It keeps the renderers that were configured when the edge
+   * was added. Two pending edges are equal if they refer to the same node instances and renderers, since they will be
+   * rendered equally.
    */
-  private static class ReachabilityMap {
-
-    private final Map<String, Set<String>> parentIndex = new LinkedHashMap<>();
-
-    void registerEdge(String from, String to) {
-      Set<String> parents = safelyGetParents(to);
-      parents.add(from);
-    }
-
-    boolean hasOlderPath(String target, String source) {
-      return isReachable(target, source, true, new HashSet<>());
+  private static final class PendingEdge<T> {
+
+    private final T from;
+    private final T to;
+    private final EdgeRenderer<? super T> edgeRenderer;
+    private final EdgeAttributeRenderer<? super T> edgeAttributeRenderer;
+
+    PendingEdge(T from, T to, EdgeRenderer<? super T> edgeRenderer,
+        EdgeAttributeRenderer<? super T> edgeAttributeRenderer) {
+      this.from = from;
+      this.to = to;
+      this.edgeRenderer = edgeRenderer;
+      this.edgeAttributeRenderer = edgeAttributeRenderer;
     }
 
-
-    /**
-     * Recursively traverses the parents of {@code target} trying to find {@code source} by keeping track of already
-     * traversed nodes. If {@code olderParentsOnly} is set to {@code true}, only the parents that were inserted
-     * <strong>before</strong> {@code source} will be considered.
-     *
-     * @return {@code true} if {@code target} is reachable via {@code source}, {@code false} else.
-     */
-    private boolean isReachable(String target, String source, boolean olderParentsOnly, Set<String> alreadyVisited) {
-      if (alreadyVisited.contains(target)) {
-        return false;
-      }
-
-      alreadyVisited.add(target);
-
-      Set<String> parents = olderParentsOnly ? getOlderParents(target, source) : safelyGetParents(target);
-      if (parents.contains(source)) {
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
         return true;
       }
-
-      for (String parent : parents) {
-        if (isReachable(parent, source, false, alreadyVisited)) {
-          return true;
-        }
-      }
-
-      return false;
-    }
-
-    private Set<String> getOlderParents(String target, String source) {
-      Set<String> olderParents = new LinkedHashSet<>(safelyGetParents(target));
-      boolean remove = false;
-      Iterator<String> iterator = olderParents.iterator();
-      while (iterator.hasNext()) {
-        String value = iterator.next();
-        if (value.equals(source)) {
-          remove = true;
-        }
-
-        if (remove) {
-          iterator.remove();
-        }
+      if (!(o instanceof PendingEdge)) {
+        return false;
       }
 
-      return olderParents;
+      PendingEdge<?> other = (PendingEdge<?>) o;
+      return this.from == other.from
+          && this.to == other.to
+          && this.edgeRenderer == other.edgeRenderer
+          && this.edgeAttributeRenderer == other.edgeAttributeRenderer;
     }
 
-    private Set<String> safelyGetParents(String node) {
-      return this.parentIndex.computeIfAbsent(node, k -> new LinkedHashSet<>());
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(this.from) + System.identityHashCode(this.to);
     }
-
   }
-
 }
@@ -15,6 +15,9 @@
  */
 package com.github.depgraph.graph;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 
 /**
@@ -22,5 +25,26 @@ import java.util.Collection;
  */
 public interface GraphFormatter {
 
-  String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges);
+  /**
+   * Writes the graph incrementally to the given writer. The writer is neither flushed nor closed.
+   *
+   * @param graphName Name of the graph.
+   * @param nodes The nodes.
+   * @param edges The edges.
+   * @param writer The writer to write the graph to.
+   * @throws IOException If writing to {@code writer} fails.
+   */
+  void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) throws IOException;
+
+  default String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+    StringWriter stringWriter = new StringWriter();
+    try {
+      format(graphName, nodes, edges, stringWriter);
+    } catch (IOException e) {
+      // should never happen with StringWriter
+      throw new IllegalStateException(e);
+    }
+
+    return stringWriter.toString();
+  }
 }
@@ -15,6 +15,8 @@
  */
 package com.github.depgraph.graph;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 
 public final class Node<T> {
@@ -22,11 +24,17 @@ public final class Node<T> {
   final T nodeObject;
   private final String nodeId;
   private final String nodeName;
+  private final Map<String, Object> attributes;
 
   public Node(String nodeId, String nodeName, T nodeObject) {
+    this(nodeId, nodeName, nodeObject, Collections.emptyMap());
+  }
+
+  public Node(String nodeId, String nodeName, T nodeObject, Map<String, Object> attributes) {
     this.nodeId = nodeId;
     this.nodeName = nodeName;
     this.nodeObject = nodeObject;
+    this.attributes = attributes;
   }
 
   public String getNodeId() {
@@ -37,6 +45,15 @@ public final class Node<T> {
     return this.nodeName;
   }
 
+  /**
+   * Returns the attributes rendered by a {@link NodeAttributeRenderer}.
+   *
+   * @return The attributes, empty if no attributes were rendered.
+   */
+  public Map<String, Object> getAttributes() {
+    return this.attributes;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -49,12 +66,13 @@ public final class Node<T> {
 
     Node<?> other = (Node<?>) o;
     return Objects.equals(this.nodeId, other.nodeId)
-        && Objects.equals(this.nodeName, other.nodeName);
+        && Objects.equals(this.nodeName, other.nodeName)
+        && Objects.equals(this.attributes, other.attributes);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.nodeId, this.nodeName);
+    return Objects.hash(this.nodeId, this.nodeName, this.attributes);
   }
 
   @Override
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import java.util.Map;
+
+/**
+ * Renders the attributes of a node as a map of property names to values. In contrast to a {@link NodeRenderer}, the
+ * attributes are handed to the {@link GraphFormatter} as they are, so structured formats don't have to parse them.
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public interface NodeAttributeRenderer<T> {
+
+  Map<String, Object> renderAttributes(T node);
+}
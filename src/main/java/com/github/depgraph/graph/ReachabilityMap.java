@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * A map that tracks which nodes are reachable from other nodes. When a new edge 'A -> B' is added, the map registers
+ * node 'A' as a parent of node 'B'. The parents of each node are kept in insertion order.
+ * <p>
+ * The nodes are identified by the dense integer IDs assigned by the {@link GraphBuilder}. As long as the graph is
+ * acyclic, the descendants of each node are computed once as bit sets in reverse topological order, so each
+ * reachability query is answered by a few bit set lookups. If the graph contains a cycle, each query falls back to an
+ * iterative search over the parents.
+ * </p>
+ */
+final class ReachabilityMap {
+
+  private static final int[] NO_PARENTS = new int[0];
+
+  private int[][] parents = new int[0][];
+  private int[] parentCounts = new int[0];
+  private int nodeCount;
+
+  // Lazily computed, null if the graph changed or contains a cycle
+  private BitSet[] descendants;
+  private boolean acyclic;
+  private boolean prepared;
+
+  // Visit markers for the search in cyclic graphs, valid for the current search only
+  private int[] visited;
+  private int visitMarker;
+
+  /**
+   * Registers the edge 'from -&gt; to'. Each pair of nodes must be registered only once.
+   *
+   * @param from ID of the from node.
+   * @param to ID of the to node.
+   */
+  void registerEdge(int from, int to) {
+    ensureCapacity(Math.max(from, to) + 1);
+
+    int count = this.parentCounts[to];
+    int[] toParents = this.parents[to];
+    if (count == toParents.length) {
+      toParents = Arrays.copyOf(toParents, Math.max(4, count * 2));
+      this.parents[to] = toParents;
+    }
+    toParents[count] = from;
+    this.parentCounts[to] = count + 1;
+    this.prepared = false;
+  }
+
+  /**
+   * Checks whether {@code target} is reachable from {@code source} via one of the parents of {@code target} that were
+   * registered <strong>before</strong> {@code source}, without passing {@code target} itself.
+   *
+   * @param target ID of the target node.
+   * @param source ID of the source node.
+   * @return {@code true} if such an older path exists, {@code false} else.
+   */
+  boolean hasOlderPath(int target, int source) {
+    if (target >= this.nodeCount || source >= this.nodeCount) {
+      return false;
+    }
+
+    prepare();
+    int olderParentCount = getOlderParentCount(target, source);
+    if (olderParentCount == 0) {
+      return false;
+    }
+
+    if (this.acyclic) {
+      // Without cycles, a path from source to one of the target's parents cannot pass the target
+      BitSet sourceDescendants = this.descendants[source];
+      int[] targetParents = this.parents[target];
+      for (int i = 0; i < olderParentCount; i++) {
+        if (sourceDescendants.get(targetParents[i])) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    return searchOlderPath(target, source, olderParentCount);
+  }
+
+  private void ensureCapacity(int requiredNodeCount) {
+    if (requiredNodeCount > this.parents.length) {
+      int capacity = Math.max(16, Math.max(requiredNodeCount, this.parents.length * 2));
+      this.parentCounts = Arrays.copyOf(this.parentCounts, capacity);
+      this.parents = Arrays.copyOf(this.parents, capacity);
+    }
+
+    for (int id = this.nodeCount; id < requiredNodeCount; id++) {
+      this.parents[id] = NO_PARENTS;
+    }
+    this.nodeCount = Math.max(this.nodeCount, requiredNodeCount);
+  }
+
+  /**
+   * Returns the number of parents of {@code target} that were registered before {@code source}.
+   */
+  private int getOlderParentCount(int target, int source) {
+    int[] targetParents = this.parents[target];
+    int count = this.parentCounts[target];
+    for (int i = 0; i < count; i++) {
+      if (targetParents[i] == source) {
+        return i;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Computes the descendants of all nodes in reverse topological order, if the graph does not contain a cycle.
+   */
+  private void prepare() {
+    if (this.prepared) {
+      return;
+    }
+
+    int nodeCount = this.nodeCount;
+    int[] childCounts = new int[nodeCount];
+    for (int node = 0; node < nodeCount; node++) {
+      for (int i = 0; i < this.parentCounts[node]; i++) {
+        childCounts[this.parents[node][i]]++;
+      }
+    }
+
+    int[][] children = new int[nodeCount][];
+    for (int node = 0; node < nodeCount; node++) {
+      children[node] = new int[childCounts[node]];
+      childCounts[node] = 0;
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      for (int i = 0; i < this.parentCounts[node]; i++) {
+        int parent = this.parents[node][i];
+        children[parent][childCounts[parent]++] = node;
+      }
+    }
+
+    // Kahn's algorithm, the nodes without parents come first
+    int[] remainingParents = Arrays.copyOf(this.parentCounts, nodeCount);
+    int[] order = new int[nodeCount];
+    int orderSize = 0;
+    for (int node = 0; node < nodeCount; node++) {
+      if (remainingParents[node] == 0) {
+        order[orderSize++] = node;
+      }
+    }
+    for (int i = 0; i < orderSize; i++) {
+      for (int child : children[order[i]]) {
+        if (--remainingParents[child] == 0) {
+          order[orderSize++] = child;
+        }
+      }
+    }
+
+    this.acyclic = orderSize == nodeCount;
+    this.descendants = null;
+    this.visited = null;
+    if (this.acyclic) {
+      this.descendants = new BitSet[nodeCount];
+      for (int i = nodeCount - 1; i >= 0; i--) {
+        int node = order[i];
+        BitSet nodeDescendants = new BitSet();
+        for (int child : children[node]) {
+          nodeDescendants.set(child);
+          nodeDescendants.or(this.descendants[child]);
+        }
+        this.descendants[node] = nodeDescendants;
+      }
+    } else {
+      this.visited = new int[nodeCount];
+      this.visitMarker = 0;
+    }
+
+    this.prepared = true;
+  }
+
+  /**
+   * Traverses the ancestors of the older parents of {@code target} trying to find {@code source}. The traversal does
+   * not pass {@code target} and visits each node at most once.
+   */
+  private boolean searchOlderPath(int target, int source, int olderParentCount) {
+    int marker = nextVisitMarker();
+    this.visited[target] = marker;
+
+    Deque<Integer> stack = new ArrayDeque<>();
+    for (int i = olderParentCount - 1; i >= 0; i--) {
+      stack.push(this.parents[target][i]);
+    }
+
+    while (!stack.isEmpty()) {
+      int node = stack.pop();
+      if (this.visited[node] == marker) {
+        continue;
+      }
+      this.visited[node] = marker;
+
+      int[] nodeParents = this.parents[node];
+      for (int i = 0; i < this.parentCounts[node]; i++) {
+        int parent = nodeParents[i];
+        if (parent == source) {
+          return true;
+        }
+        if (this.visited[parent] != marker) {
+          stack.push(parent);
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private int nextVisitMarker() {
+    if (++this.visitMarker == 0) {
+      Arrays.fill(this.visited, 0);
+      this.visitMarker = 1;
+    }
+
+    return this.visitMarker;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Transaction;
+
+/**
+ * Writes statements to Neo4j using the asynchronous API of the driver. Like the {@link Neo4jTransactionalWriter}, the
+ * statements are grouped into explicit transactions of the configured commit size. But instead of waiting for the
+ * result of each statement, the statements of a transaction are pipelined on its connection. The number of statements
+ * that are in flight is bounded, so that the caller is throttled when the server cannot keep up. This way, the network
+ * latency overlaps with the creation of the next statements on the client side.
+ */
+class Neo4jAsyncWriter implements Neo4jWriter {
+
+  private final Session session;
+  private final int commitSize;
+  private final Semaphore inFlightPermits;
+  private final Neo4jWriteStatistics statistics;
+  private final List<CompletableFuture<?>> chunkResults;
+
+  private Transaction transaction;
+  private long chunkStart;
+
+  Neo4jAsyncWriter(Session session, int commitSize, int maxInFlight, Neo4jWriteStatistics statistics) {
+    this.session = session;
+    this.commitSize = commitSize;
+    this.inFlightPermits = new Semaphore(maxInFlight);
+    this.statistics = statistics;
+    this.chunkResults = new ArrayList<>(commitSize);
+  }
+
+  @Override
+  public void write(Statement statement) {
+    if (this.transaction == null) {
+      this.chunkStart = System.nanoTime();
+      this.transaction = join(this.session.beginTransactionAsync().toCompletableFuture());
+    }
+
+    this.inFlightPermits.acquireUninterruptibly();
+    // Run the statement from the calling thread, so that the statements are sent in the order they were written
+    CompletableFuture<?> result = this.transaction.runAsync(statement)
+        .thenCompose(StatementResultCursor::consumeAsync)
+        .whenComplete((summary, error) -> this.inFlightPermits.release())
+        .toCompletableFuture();
+    this.chunkResults.add(result);
+
+    if (this.chunkResults.size() >= this.commitSize) {
+      flush();
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (this.transaction == null) {
+      return;
+    }
+
+    Transaction transaction = this.transaction;
+    int statements = this.chunkResults.size();
+    CompletableFuture<Void> allResults =
+        CompletableFuture.allOf(this.chunkResults.toArray(new CompletableFuture<?>[0]));
+    this.transaction = null;
+    this.chunkResults.clear();
+
+    try {
+      join(allResults.thenCompose(ignored -> transaction.commitAsync()));
+      this.statistics.recordCommit(statements, System.nanoTime() - this.chunkStart);
+    } catch (RuntimeException e) {
+      transaction.rollbackAsync().toCompletableFuture().exceptionally(ignored -> null).join();
+      this.statistics.recordRollback(System.nanoTime() - this.chunkStart);
+      throw e;
+    }
+  }
+
+  /**
+   * Waits for the given future and unwraps the original exception in case of a failure.
+   */
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.github.depgraph.graph.Edge;
+import com.github.depgraph.graph.GraphFormatter;
+import com.github.depgraph.graph.Node;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the graph into CSV files that can be loaded into an empty database with {@code neo4j-admin import}. The
+ * artifacts and dependencies are written in the header-plus-data layout, i.e. the headers (using the {@code :ID},
+ * {@code :START_ID}, {@code :END_ID}, {@code :LABEL} and {@code :TYPE} columns) are in separate files.
+ * <p>
+ * All graphs that are formatted into the same import directory within a build share their numeric IDs, so the
+ * artifacts and dependencies which appear in multiple modules are written only once. The data files are truncated when
+ * the import directory is used for the first time after {@link #finishExports()}, i.e. once per build. The formatter
+ * returns the {@code neo4j-admin import} command to load the files.
+ * </p>
+ */
+public class Neo4jCsvGraphFormatter implements GraphFormatter {
+
+  static final String ARTIFACTS_HEADER_FILE = "artifacts-header.csv";
+  static final String ARTIFACTS_FILE = "artifacts.csv";
+  static final String DEPENDENCIES_HEADER_FILE = "dependencies-header.csv";
+  static final String DEPENDENCIES_FILE = "dependencies.csv";
+
+  private static final List<String> ARTIFACT_PROPERTIES = Arrays.asList("groupId", "artifactId", "version", "scope",
+      "type");
+  private static final String ARTIFACTS_HEADER = ":ID,id,groupId,artifactId,version,scope,type,:LABEL";
+  private static final String DEPENDENCIES_HEADER = ":START_ID,:END_ID,:TYPE,scope,name";
+
+  private static final Map<Path, CsvExport> EXPORTS = new HashMap<>();
+
+  private final Path importDirectory;
+
+  public Neo4jCsvGraphFormatter(Path importDirectory) {
+    this.importDirectory = importDirectory.toAbsolutePath().normalize();
+  }
+
+  @Override
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer)
+      throws IOException {
+    CsvExport export = getExport(this.importDirectory);
+    synchronized (export) {
+      writeArtifacts(nodes, export);
+      writeDependencies(edges, export);
+    }
+
+    writer.write("neo4j-admin import --id-type=INTEGER"
+        + " --nodes=" + file(ARTIFACTS_HEADER_FILE) + "," + file(ARTIFACTS_FILE)
+        + " --relationships=" + file(DEPENDENCIES_HEADER_FILE) + "," + file(DEPENDENCIES_FILE)
+        + "\n");
+  }
+
+  /**
+   * Finishes the exports into all import directories. This method has to be called at the end of each build, so that
+   * the next build within the same JVM starts with empty data files instead of appending to the files of this build.
+   */
+  public static synchronized void finishExports() {
+    EXPORTS.clear();
+  }
+
+  private static synchronized CsvExport getExport(Path importDirectory) throws IOException {
+    CsvExport export = EXPORTS.get(importDirectory);
+    if (export == null) {
+      Files.createDirectories(importDirectory);
+      writeFile(importDirectory.resolve(ARTIFACTS_HEADER_FILE), ARTIFACTS_HEADER + "\n");
+      writeFile(importDirectory.resolve(DEPENDENCIES_HEADER_FILE), DEPENDENCIES_HEADER + "\n");
+      writeFile(importDirectory.resolve(ARTIFACTS_FILE), "");
+      writeFile(importDirectory.resolve(DEPENDENCIES_FILE), "");
+
+      export = new CsvExport();
+      EXPORTS.put(importDirectory, export);
+    }
+
+    return export;
+  }
+
+  private void writeArtifacts(Collection<Node<?>> nodes, CsvExport export) throws IOException {
+    try (Writer writer = open(ARTIFACTS_FILE, CREATE, WRITE, APPEND)) {
+      for (Node<?> node : nodes) {
+        String nodeId = node.getNodeId();
+        if (export.idTable.contains(nodeId)) {
+          continue;
+        }
+
+        Map<?, ?> data = Neo4jGraphFormatter.attributes(node);
+        writer.write(String.valueOf(export.idTable.getOrAssign(nodeId)));
+        writer.write(',');
+        writeValue(writer, nodeId);
+        for (String property : ARTIFACT_PROPERTIES) {
+          writer.write(',');
+          writeValue(writer, data.get(property));
+        }
+        writer.write(",Artifact\n");
+      }
+    }
+  }
+
+  private void writeDependencies(Collection<Edge> edges, CsvExport export) throws IOException {
+    try (Writer writer = open(DEPENDENCIES_FILE, CREATE, WRITE, APPEND)) {
+      for (Edge edge : edges) {
+        Object scope = Neo4jGraphFormatter.attributes(edge).get("resolutionScope");
+        // Same key for a missing scope as for the empty field that is written for it
+        String scopeKey = scope != null ? scope.toString() : null;
+        if (!export.dependencies.add(Neo4jGraphDelta.key(edge.getFromNodeId(), edge.getToNodeId(), scopeKey))) {
+          continue;
+        }
+
+        writer.write(export.idTable.get(edge.getFromNodeId()) + "," + export.idTable.get(edge.getToNodeId()));
+        writer.write(",DEPENDENCY,");
+        writeValue(writer, scope);
+        writer.write(',');
+        // Same name as written by the Neo4jGraphFormatter
+        writeValue(writer, edge.getToNodeId() + ":" + scope);
+        writer.write('\n');
+      }
+    }
+  }
+
+  private Writer open(String fileName, OpenOption... options) throws IOException {
+    return Files.newBufferedWriter(this.importDirectory.resolve(fileName), UTF_8, options);
+  }
+
+  private String file(String fileName) {
+    return this.importDirectory.resolve(fileName).toString();
+  }
+
+  private static void writeFile(Path file, String content) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(file, UTF_8, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      writer.write(content);
+    }
+  }
+
+  /**
+   * Writes the given value and quotes it if necessary. {@code null} values are written as empty fields.
+   */
+  private static void writeValue(Writer writer, Object value) throws IOException {
+    if (value == null) {
+      return;
+    }
+
+    String stringValue = value.toString();
+    if (stringValue.indexOf(',') < 0 && stringValue.indexOf('"') < 0 && stringValue.indexOf('\n') < 0) {
+      writer.write(stringValue);
+    } else {
+      writer.write('"');
+      writer.write(stringValue.replace("\"", "\"\""));
+      writer.write('"');
+    }
+  }
+
+  /**
+   * Artifacts and dependencies that were already written to an import directory.
+   */
+  private static final class CsvExport {
+
+    private final Neo4jIdTable idTable = new Neo4jIdTable();
+    private final Set<List<String>> dependencies = new HashSet<>();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.driver.v1.AuthToken;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.GraphDatabase;
+
+/**
+ * JVM-wide registry of Neo4j {@link Driver}s, keyed by URI and {@link AuthToken}. Each driver maintains its own
+ * connection pool, so sharing one driver across all modules of a (parallel) build avoids paying for the connection
+ * setup, the Bolt handshake and the authentication per module.
+ * <p>
+ * Drivers are reference-counted via {@link Lease}s. A driver is not closed when its last lease is released, so it can
+ * be reused by the next module. Idle drivers are closed by {@link #closeIdleDrivers()} at the end of the build or, at
+ * the latest, when the JVM shuts down.
+ * </p>
+ */
+public final class Neo4jDriverRegistry {
+
+  private static final Map<List<Object>, SharedDriver> DRIVERS = new HashMap<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(Neo4jDriverRegistry::closeAllDrivers, "neo4j-driver-registry"));
+  }
+
+  private Neo4jDriverRegistry() {
+    throw new AssertionError("Not instantiable");
+  }
+
+  /**
+   * Acquires the shared driver for the URI and the auth token of the given settings. The driver is created with the
+   * pool settings of the first acquisition.
+   *
+   * @param settings Neo4j settings.
+   * @return A lease which has to be closed when the driver is not used anymore.
+   */
+  public static Lease acquire(Neo4jSettings settings) {
+    List<Object> key = Arrays.asList(settings.getUri(), settings.getAuthToken());
+
+    synchronized (DRIVERS) {
+      SharedDriver sharedDriver = DRIVERS.computeIfAbsent(key, k -> new SharedDriver(createDriver(settings)));
+      sharedDriver.references++;
+      return new Lease(sharedDriver);
+    }
+  }
+
+  /**
+   * Closes all drivers that are currently not leased.
+   */
+  public static void closeIdleDrivers() {
+    List<Driver> idleDrivers = new ArrayList<>();
+    synchronized (DRIVERS) {
+      Iterator<SharedDriver> iterator = DRIVERS.values().iterator();
+      while (iterator.hasNext()) {
+        SharedDriver sharedDriver = iterator.next();
+        if (sharedDriver.references == 0) {
+          idleDrivers.add(sharedDriver.driver);
+          iterator.remove();
+        }
+      }
+    }
+
+    idleDrivers.forEach(Driver::close);
+  }
+
+  private static void closeAllDrivers() {
+    List<Driver> drivers;
+    synchronized (DRIVERS) {
+      drivers = new ArrayList<>(DRIVERS.size());
+      DRIVERS.values().forEach(sharedDriver -> drivers.add(sharedDriver.driver));
+      DRIVERS.clear();
+    }
+
+    drivers.forEach(Driver::close);
+  }
+
+  private static Driver createDriver(Neo4jSettings settings) {
+    Config config = Config.build()
+        .withMaxConnectionPoolSize(settings.getMaxConnectionPoolSize())
+        .withConnectionAcquisitionTimeout(settings.getConnectionAcquisitionTimeout(), TimeUnit.MILLISECONDS)
+        .toConfig();
+
+    return GraphDatabase.driver(settings.getUri(), settings.getAuthToken(), config);
+  }
+
+  private static final class SharedDriver {
+
+    private final Driver driver;
+    private int references;
+
+    SharedDriver(Driver driver) {
+      this.driver = driver;
+    }
+  }
+
+  /**
+   * A reference to a shared driver. Closing the lease releases the reference but does not close the driver.
+   */
+  public static final class Lease implements AutoCloseable {
+
+    private final SharedDriver sharedDriver;
+    private boolean released;
+
+    private Lease(SharedDriver sharedDriver) {
+      this.sharedDriver = sharedDriver;
+    }
+
+    public Driver getDriver() {
+      return this.sharedDriver.driver;
+    }
+
+    @Override
+    public void close() {
+      synchronized (DRIVERS) {
+        if (!this.released) {
+          this.released = true;
+          this.sharedDriver.references--;
+        }
+      }
+    }
+  }
+}
@@ -15,8 +15,6 @@
  */
 package com.github.depgraph.graph.neo4j;
 
-import com.fasterxml.jackson.annotation.JsonAnyGetter;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +29,18 @@ class Neo4jGraph {
     this.graphName = graphName;
   }
 
+  String getGraphName() {
+    return this.graphName;
+  }
+
+  List<Artifact> getArtifacts() {
+    return this.artifacts;
+  }
+
+  List<Dependency> getDependencies() {
+    return this.dependencies;
+  }
+
   Artifact addArtifact(String nodeId, int numericNodeId, Map<?, ?> data) {
     final Artifact artifact = new Artifact(nodeId, numericNodeId, data);
     this.artifacts.add(artifact);
@@ -48,7 +58,6 @@ class Neo4jGraph {
 
     private final String id;
     private final int numericId;
-    @JsonIgnore
     private final Map<?, ?> data;
 
     Artifact(String id, int numericId, Map<?, ?> data) {
@@ -57,7 +66,6 @@ class Neo4jGraph {
       this.data = data;
     }
 
-    @JsonAnyGetter
     Map<?, ?> getData() {
       return this.data;
     }
@@ -66,6 +74,10 @@ class Neo4jGraph {
       return this.id;
     }
 
+    int getNumericId() {
+      return this.numericId;
+    }
+
   }
 
   static class Dependency {
@@ -74,7 +86,6 @@ class Neo4jGraph {
     private final String to;
     private final int numericFrom;
     private final int numericTo;
-    @JsonIgnore
     private final Map<?, ?> data;
 
     Dependency(String from, int numericFrom, String to, int numericTo, Map<?, ?> data) {
@@ -93,7 +104,19 @@ class Neo4jGraph {
       return this.to;
     }
 
-    @JsonAnyGetter
+    int getNumericFrom() {
+      return this.numericFrom;
+    }
+
+    int getNumericTo() {
+      return this.numericTo;
+    }
+
+    String getResolutionScope() {
+      Object resolutionScope = this.data.get("resolutionScope");
+      return resolutionScope != null ? resolutionScope.toString() : null;
+    }
+
     Map<?, ?> getData() {
       return this.data;
     }
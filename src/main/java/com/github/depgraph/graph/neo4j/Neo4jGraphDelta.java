@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.util.Collections.singletonMap;
+
+import com.github.depgraph.graph.neo4j.Neo4jGraph.Artifact;
+import com.github.depgraph.graph.neo4j.Neo4jGraph.Dependency;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+
+/**
+ * The difference between the graph stored in Neo4j and the graph that is about to be written. The delta consists of
+ * the artifacts and dependencies which do not exist in Neo4j yet and of the stale dependencies which exist in Neo4j but
+ * not in the graph anymore.
+ * <p>
+ * Dependencies between third party artifacts are shared by all projects, so only the stale dependencies of the graph's
+ * root artifacts (i.e. the artifacts without incoming dependencies, usually the project itself) are considered. These
+ * are the dependencies that are declared in the project's POM.
+ * </p>
+ */
+class Neo4jGraphDelta {
+
+  private static final String READ_STATEMENT = " UNWIND $ids AS id "
+      + " MATCH (from:Artifact { id:id }) "
+      + " OPTIONAL MATCH (from)-[r:DEPENDENCY]->(to:Artifact) "
+      + " RETURN from.id AS from, to.id AS to, r.scope AS scope ";
+
+  private final List<Artifact> newArtifacts;
+  private final List<Dependency> newDependencies;
+  private final List<Map<String, Object>> staleDependencies;
+
+  private Neo4jGraphDelta(List<Artifact> newArtifacts, List<Dependency> newDependencies,
+      List<Map<String, Object>> staleDependencies) {
+    this.newArtifacts = newArtifacts;
+    this.newDependencies = newDependencies;
+    this.staleDependencies = staleDependencies;
+  }
+
+  /**
+   * Reads the existing artifacts and their outgoing dependencies with a single query and computes the delta.
+   *
+   * @param artifacts The artifacts to be written.
+   * @param dependencies The dependencies to be written.
+   * @param session Session to read the existing graph.
+   * @return The delta.
+   */
+  static Neo4jGraphDelta read(List<Artifact> artifacts, List<Dependency> dependencies, Session session) {
+    List<String> ids = new ArrayList<>(artifacts.size());
+    artifacts.forEach(artifact -> ids.add(artifact.getId()));
+
+    Set<String> existingArtifacts = new HashSet<>();
+    Map<List<String>, Map<String, Object>> existingDependencies = new LinkedHashMap<>();
+    for (Record record : session.run(READ_STATEMENT, singletonMap("ids", ids)).list()) {
+      String from = record.get("from").asString();
+      existingArtifacts.add(from);
+
+      if (!record.get("to").isNull()) {
+        String to = record.get("to").asString();
+        String scope = record.get("scope").asString(null);
+        existingDependencies.put(key(from, to, scope), dependencyRow(from, to, scope));
+      }
+    }
+
+    return compute(artifacts, dependencies, existingArtifacts, existingDependencies);
+  }
+
+  /**
+   * Computes the delta.
+   *
+   * @param artifacts The artifacts to be written.
+   * @param dependencies The dependencies to be written.
+   * @param existingArtifacts IDs of the artifacts that already exist.
+   * @param existingDependencies The existing dependencies of the artifacts, indexed by {@link #key(String, String,
+   * String)}.
+   * @return The delta.
+   */
+  static Neo4jGraphDelta compute(List<Artifact> artifacts, List<Dependency> dependencies,
+      Set<String> existingArtifacts, Map<List<String>, Map<String, Object>> existingDependencies) {
+    List<Artifact> newArtifacts = new ArrayList<>();
+    for (Artifact artifact : artifacts) {
+      if (!existingArtifacts.contains(artifact.getId())) {
+        newArtifacts.add(artifact);
+      }
+    }
+
+    Set<List<String>> dependencyKeys = new HashSet<>(dependencies.size());
+    Set<String> roots = new HashSet<>(artifacts.size());
+    artifacts.forEach(artifact -> roots.add(artifact.getId()));
+    List<Dependency> newDependencies = new ArrayList<>();
+    for (Dependency dependency : dependencies) {
+      List<String> key = key(dependency.getFrom(), dependency.getTo(), dependency.getResolutionScope());
+      dependencyKeys.add(key);
+      if (!dependency.getFrom().equals(dependency.getTo())) {
+        roots.remove(dependency.getTo());
+      }
+
+      if (!existingDependencies.containsKey(key)) {
+        newDependencies.add(dependency);
+      }
+    }
+
+    List<Map<String, Object>> staleDependencies = new ArrayList<>();
+    existingDependencies.forEach((key, row) -> {
+      if (roots.contains(row.get("from")) && !dependencyKeys.contains(key)) {
+        staleDependencies.add(row);
+      }
+    });
+
+    return new Neo4jGraphDelta(newArtifacts, newDependencies, staleDependencies);
+  }
+
+  static List<String> key(String from, String to, String resolutionScope) {
+    return Arrays.asList(from, to, resolutionScope);
+  }
+
+  static Map<String, Object> dependencyRow(String from, String to, String resolutionScope) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("from", from);
+    row.put("to", to);
+    row.put("resolutionScope", resolutionScope);
+    return row;
+  }
+
+  List<Artifact> getNewArtifacts() {
+    return this.newArtifacts;
+  }
+
+  List<Dependency> getNewDependencies() {
+    return this.newDependencies;
+  }
+
+  /**
+   * Returns the stale dependencies as rows of {@code from}, {@code to} and {@code resolutionScope}.
+   *
+   * @return The stale dependencies.
+   */
+  List<Map<String, Object>> getStaleDependencies() {
+    return this.staleDependencies;
+  }
+
+  @Override
+  public String toString() {
+    return this.newArtifacts.size() + " new artifact(s), " + this.newDependencies.size() + " new dependency(ies), "
+        + this.staleDependencies.size() + " stale dependency(ies)";
+  }
+}
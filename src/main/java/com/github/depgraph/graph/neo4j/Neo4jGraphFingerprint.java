@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.depgraph.graph.Edge;
+import com.github.depgraph.graph.Node;
+import com.google.common.base.Joiner;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A stable content hash of a graph, computed over the sorted node IDs and the sorted edges including their
+ * attributes. The fingerprint is stored on a {@code :Project} node, which is identified by the IDs of the graph's root
+ * nodes. If the fingerprint of a graph matches the stored fingerprint, the graph does not need to be written again.
+ */
+final class Neo4jGraphFingerprint {
+
+  private static final Joiner COMMA_JOINER = Joiner.on(",");
+  private static final Comparator<Edge> EDGE_COMPARATOR = Comparator.comparing(Edge::getFromNodeId)
+      .thenComparing(Edge::getToNodeId)
+      .thenComparing(Edge::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final String projectId;
+  private final String hash;
+
+  private Neo4jGraphFingerprint(String projectId, String hash) {
+    this.projectId = projectId;
+    this.hash = hash;
+  }
+
+  static Neo4jGraphFingerprint of(Collection<Node<?>> nodes, Collection<Edge> edges) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    Set<String> roots = new LinkedHashSet<>();
+
+    Set<String> sortedNodeIds = new TreeSet<>();
+    for (Node<?> node : nodes) {
+      sortedNodeIds.add(node.getNodeId());
+      roots.add(node.getNodeId());
+    }
+    sortedNodeIds.forEach(nodeId -> putString(hasher, nodeId));
+
+    List<Edge> sortedEdges = new ArrayList<>(edges);
+    sortedEdges.sort(EDGE_COMPARATOR);
+    for (Edge edge : sortedEdges) {
+      putString(hasher, edge.getFromNodeId());
+      putString(hasher, edge.getToNodeId());
+      putString(hasher, edge.getName());
+      putString(hasher, String.valueOf(new TreeMap<>(edge.getAttributes())));
+
+      if (!edge.getFromNodeId().equals(edge.getToNodeId())) {
+        roots.remove(edge.getToNodeId());
+      }
+    }
+
+    return new Neo4jGraphFingerprint(COMMA_JOINER.join(new TreeSet<>(roots)), hasher.hash().toString());
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    // Terminate each value, so that "ab", "c" and "a", "bc" produce different hashes
+    hasher.putString(value != null ? value : "", UTF_8).putByte((byte) 0);
+  }
+
+  String getProjectId() {
+    return this.projectId;
+  }
+
+  String getHash() {
+    return this.hash;
+  }
+
+  @Override
+  public String toString() {
+    return this.projectId + "@" + this.hash;
+  }
+}
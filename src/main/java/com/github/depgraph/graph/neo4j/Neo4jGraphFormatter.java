@@ -15,137 +15,258 @@
  */
 package com.github.depgraph.graph.neo4j;
 
-import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
-import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
-import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.util.Collections.singletonMap;
 
-import com.fasterxml.jackson.core.util.DefaultIndenter;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.depgraph.graph.Edge;
 import com.github.depgraph.graph.GraphFormatter;
 import com.github.depgraph.graph.Node;
 import com.github.depgraph.graph.neo4j.Neo4jGraph.Artifact;
 import com.github.depgraph.graph.neo4j.Neo4jGraph.Dependency;
+import com.google.common.collect.Lists;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
-import org.neo4j.driver.v1.AuthToken;
-import org.neo4j.driver.v1.Driver;
-import org.neo4j.driver.v1.GraphDatabase;
+import java.util.function.ToIntFunction;
+import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.summary.SummaryCounters;
 
 public class Neo4jGraphFormatter implements GraphFormatter {
 
-  private static final String CREATE_DEPENDENCY_STATEMENT = " MATCH (from:Artifact),(to:Artifact) "
-      + " WHERE from.id = $from AND to.id = $to "
-      + " MERGE (from)-[r:DEPENDENCY { scope:$resolutionScope, name: $to + ':' + $resolutionScope } ]->(to) "
-      + " RETURN type(r), r.name";
-  private final String neo4jUri;
-  private final AuthToken neo4AuthToken;
+  private static final String MERGE_ARTIFACTS_STATEMENT = " UNWIND $rows AS row "
+      + " MERGE (artifact:Artifact { id:row.id }) "
+      + " ON CREATE SET artifact.groupId = row.groupId, artifact.artifactId = row.artifactId, artifact.version = row.version, artifact.scope = row.scope, artifact.type = row.type ";
 
-  private final ObjectMapper objectMapper = new ObjectMapper()
-      .setSerializationInclusion(NON_EMPTY)
-      .setVisibility(FIELD, ANY);
+  private static final String MERGE_DEPENDENCIES_STATEMENT = " UNWIND $rows AS row "
+      + " MATCH (from:Artifact { id:row.from }), (to:Artifact { id:row.to }) "
+      + " MERGE (from)-[r:DEPENDENCY { scope:row.resolutionScope, name: row.to + ':' + row.resolutionScope } ]->(to) ";
 
-  private static final String CREATE_ARTIFACT_STATEMENT = " MERGE (artifact:Artifact { id:$id }) "
-      + " ON CREATE SET artifact.id = $id, artifact.groupId = $groupId, artifact.artifactId = $artifactId, artifact.version = $version, artifact.scope = $scope, artifact.type = $type "
-      + " RETURN artifact";
+  private static final String DELETE_DEPENDENCIES_STATEMENT = " UNWIND $rows AS row "
+      + " MATCH (:Artifact { id:row.from })-[r:DEPENDENCY { scope:row.resolutionScope } ]->(:Artifact { id:row.to }) "
+      + " DELETE r ";
 
-  public Neo4jGraphFormatter(String neo4jUri, AuthToken neo4AuthToken) {
-    this.neo4jUri = neo4jUri;
-    this.neo4AuthToken = neo4AuthToken;
+  private static final String CREATE_ARTIFACT_ID_CONSTRAINT_STATEMENT =
+      "CREATE CONSTRAINT ON (artifact:Artifact) ASSERT artifact.id IS UNIQUE";
+
+  private static final String CREATE_PROJECT_ID_CONSTRAINT_STATEMENT =
+      "CREATE CONSTRAINT ON (project:Project) ASSERT project.id IS UNIQUE";
+
+  private static final String READ_FINGERPRINT_STATEMENT = " MATCH (project:Project { id:$id }) "
+      + " RETURN project.fingerprint AS fingerprint ";
+
+  private static final String WRITE_FINGERPRINT_STATEMENT = " MERGE (project:Project { id:$id }) "
+      + " SET project.fingerprint = $fingerprint ";
+
+  private static final List<String> ARTIFACT_INDEX_PROPERTIES = Arrays.asList("groupId", "artifactId");
+
+  private final Neo4jSettings settings;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  public Neo4jGraphFormatter(Neo4jSettings settings) {
+    this.settings = settings;
   }
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    Map<String, Integer> nodeIdMap = new HashMap<>(nodes.size());
-    Neo4jGraph jsonGraph = new Neo4jGraph(graphName);
-    List<Artifact> artifacts = new LinkedList<>();
-    List<Dependency> dependencies = new LinkedList<>();
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer)
+      throws IOException {
+    Neo4jIdTable idTable = new Neo4jIdTable();
+    Neo4jGraph graph = new Neo4jGraph(graphName);
 
-    int numericNodeId = 0;
     for (Node<?> node : nodes) {
       String nodeId = node.getNodeId();
-      nodeIdMap.put(nodeId, numericNodeId++);
-      artifacts.add(jsonGraph.addArtifact(nodeId, numericNodeId, readJson(node.getNodeName())));
+      graph.addArtifact(nodeId, idTable.getOrAssign(nodeId), attributes(node));
     }
 
     for (Edge edge : edges) {
       String fromNodeId = edge.getFromNodeId();
-      Integer fromNodeIdNumeric = nodeIdMap.get(fromNodeId);
       String toNodeId = edge.getToNodeId();
-      Integer toNodeIdNumeric = nodeIdMap.get(toNodeId);
-      dependencies.add(jsonGraph.addDependency(fromNodeId, fromNodeIdNumeric, toNodeId, toNodeIdNumeric, readJson(edge.getName())));
+      graph.addDependency(fromNodeId, idTable.get(fromNodeId), toNodeId, idTable.get(toNodeId), attributes(edge));
     }
 
-    saveGraphNeo4j(artifacts, dependencies);
-
-    return serialize(jsonGraph);
+    Neo4jGraphFingerprint fingerprint = this.settings.isSkipUnchanged() ? Neo4jGraphFingerprint.of(nodes, edges) : null;
+    saveGraphNeo4j(graph.getArtifacts(), graph.getDependencies(), fingerprint);
 
+    Neo4jGraphJsonWriter.write(graph, writer, this.settings.isCompactJson());
   }
 
-  public void saveGraphNeo4j(final List<Artifact> artifacts, final List<Dependency> dependencies) {
+  /**
+   * Writes the given artifacts and dependencies to Neo4j.
+   *
+   * @param artifacts Artifacts.
+   * @param dependencies Dependencies.
+   * @param fingerprint Fingerprint of the graph or {@code null}. If the fingerprint is present and matches the one
+   * stored in Neo4j, nothing is written.
+   */
+  public void saveGraphNeo4j(final List<Artifact> artifacts, final List<Dependency> dependencies,
+      Neo4jGraphFingerprint fingerprint) {
     try (
-        Driver driver = GraphDatabase.driver(neo4jUri, neo4AuthToken);
-        Session session = driver.session()
+        Neo4jDriverRegistry.Lease lease = Neo4jDriverRegistry.acquire(this.settings);
+        Session session = lease.getDriver().session()
     ) {
-      saveArtifacts.accept(artifacts, session);
-      saveDependencies.accept(dependencies, session);
+      if (this.settings.isCreateSchema()) {
+        createSchema(session);
+      }
+
+      if (fingerprint != null && isUnchanged(fingerprint, session)) {
+        this.settings.getLog().info("Neo4j: Graph of " + fingerprint.getProjectId() + " is unchanged");
+        return;
+      }
+
+      Neo4jWriteStatistics statistics = new Neo4jWriteStatistics();
+      Neo4jWriter writer = createWriter(session, statistics);
+      try {
+        if (this.settings.isDeltaSync()) {
+          Neo4jGraphDelta delta = Neo4jGraphDelta.read(artifacts, dependencies, session);
+          this.settings.getLog().info("Neo4j delta: " + delta);
+          saveArtifacts(delta.getNewArtifacts(), writer);
+          saveDependencies(delta.getNewDependencies(), writer);
+          writeBatched(DELETE_DEPENDENCIES_STATEMENT, delta.getStaleDependencies(), writer);
+        } else {
+          saveArtifacts(artifacts, writer);
+          saveDependencies(dependencies, writer);
+        }
+        writer.flush();
+
+        if (fingerprint != null) {
+          session.run(WRITE_FINGERPRINT_STATEMENT, fingerprintParameters(fingerprint)).consume();
+        }
+      } finally {
+        this.settings.getLog().info("Neo4j: " + statistics);
+      }
     } catch (Exception e) {
-      e.printStackTrace();
+      this.settings.getLog().error("Unable to write the dependency graph to Neo4j", e);
     }
   }
 
-  private Map<?, ?> readJson(String json) {
+  /**
+   * Returns the attributes of the given node. Nodes without attributes may have a JSON name, which is parsed
+   * instead.
+   */
+  static Map<?, ?> attributes(Node<?> node) {
+    return node.getAttributes().isEmpty() && !isNullOrEmpty(node.getNodeName())
+        ? readJson(node.getNodeName()) : node.getAttributes();
+  }
+
+  /**
+   * Returns the attributes of the given edge. Edges without attributes may have a JSON name, which is parsed
+   * instead.
+   */
+  static Map<?, ?> attributes(Edge edge) {
+    return edge.getAttributes().isEmpty() && !isNullOrEmpty(edge.getName())
+        ? readJson(edge.getName()) : edge.getAttributes();
+  }
+
+  private static Map<?, ?> readJson(String json) {
     try {
-      return this.objectMapper.readValue(json, Map.class);
+      return OBJECT_MAPPER.readValue(json, Map.class);
     } catch (IOException e) {
       throw new IllegalStateException("Unable to read JSON '" + json + "'", e);
     }
   }
 
-  private String serialize(Neo4jGraph neo4jGraph) {
-    DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter()
-        .withObjectIndenter(new DefaultIndenter("  ", "\n"));
+  private boolean isUnchanged(Neo4jGraphFingerprint fingerprint, Session session) {
+    List<Record> records = session.run(READ_FINGERPRINT_STATEMENT, fingerprintParameters(fingerprint)).list();
 
-    ObjectWriter writer = this.objectMapper.writer(prettyPrinter);
-    StringWriter jsonWriter = new StringWriter();
-    try {
-      writer.writeValue(jsonWriter, neo4jGraph);
-    } catch (IOException e) {
-      // should never happen with StringWriter
-      throw new IllegalStateException(e);
+    return !records.isEmpty() && fingerprint.getHash().equals(records.get(0).get("fingerprint").asString(null));
+  }
+
+  private static Map<String, Object> fingerprintParameters(Neo4jGraphFingerprint fingerprint) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("id", fingerprint.getProjectId());
+    parameters.put("fingerprint", fingerprint.getHash());
+    return parameters;
+  }
+
+  private Neo4jWriter createWriter(Session session, Neo4jWriteStatistics statistics) {
+    if (this.settings.isAsync()) {
+      return new Neo4jAsyncWriter(session, this.settings.getCommitSize(), this.settings.getMaxInFlight(), statistics);
     }
 
-    return jsonWriter.toString();
+    return new Neo4jTransactionalWriter(session, this.settings.getCommitSize(), statistics);
   }
 
-  private BiConsumer<List<Artifact>, Session> saveArtifacts = (artifacts, session) -> artifacts.forEach(artifact -> {
-    HashMap params = new HashMap(artifact.getData());
-    params.put("id", artifact.getId());
-    try {
-      session.run(CREATE_ARTIFACT_STATEMENT, params);
-    } catch (Exception e) {
-      e.printStackTrace();
+  /**
+   * Idempotently creates the uniqueness constraint on {@code :Artifact(id)} and, if configured, the indexes on
+   * {@code :Artifact(groupId)} and {@code :Artifact(artifactId)} and the uniqueness constraint on {@code
+   * :Project(id)}. The constraint is backed by an index, so the
+   * {@code MERGE} and {@code MATCH} statements on the artifact ID don't have to scan all artifacts.
+   */
+  private void createSchema(Session session) {
+    if (runSchemaStatement(CREATE_ARTIFACT_ID_CONSTRAINT_STATEMENT, SummaryCounters::constraintsAdded, session)) {
+      this.settings.getLog().info("Created uniqueness constraint on :Artifact(id)");
+    }
+
+    if (this.settings.isSkipUnchanged()
+        && runSchemaStatement(CREATE_PROJECT_ID_CONSTRAINT_STATEMENT, SummaryCounters::constraintsAdded, session)) {
+      this.settings.getLog().info("Created uniqueness constraint on :Project(id)");
     }
-  });
 
-  private BiConsumer<List<Dependency>, Session> saveDependencies = (dependencies, session) -> dependencies.forEach(dependency -> {
-    HashMap params = new HashMap<>(dependency.getData());
-    params.put("from", dependency.getFrom());
-    params.put("to", dependency.getTo());
+    if (this.settings.isCreateIndexes()) {
+      for (String property : ARTIFACT_INDEX_PROPERTIES) {
+        String statement = "CREATE INDEX ON :Artifact(" + property + ")";
+        if (runSchemaStatement(statement, SummaryCounters::indexesAdded, session)) {
+          this.settings.getLog().info("Created index on :Artifact(" + property + ")");
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the given schema statement and returns whether it created something according to {@code createdCounter}.
+   */
+  private boolean runSchemaStatement(String statement, ToIntFunction<SummaryCounters> createdCounter,
+      Session session) {
     try {
-      session.run(CREATE_DEPENDENCY_STATEMENT, params);
-    } catch (Exception e) {
-      e.printStackTrace();
+      return createdCounter.applyAsInt(session.run(statement).consume().counters()) > 0;
+    } catch (ClientException e) {
+      // Newer Neo4j versions reject schema statements for existing constraints or indexes
+      if (e.getMessage() == null || !e.getMessage().contains("already exists")) {
+        this.settings.getLog().warn("Unable to execute '" + statement + "': " + e.getMessage());
+      }
+
+      return false;
     }
-  });
+  }
+
+  private void saveArtifacts(List<Artifact> artifacts, Neo4jWriter writer) {
+    List<Map<String, Object>> rows = new ArrayList<>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      Map<String, Object> row = new HashMap<>();
+      artifact.getData().forEach((key, value) -> row.put(String.valueOf(key), value));
+      row.put("id", artifact.getId());
+      rows.add(row);
+    }
+
+    writeBatched(MERGE_ARTIFACTS_STATEMENT, rows, writer);
+  }
+
+  private void saveDependencies(List<Dependency> dependencies, Neo4jWriter writer) {
+    List<Map<String, Object>> rows = new ArrayList<>(dependencies.size());
+    for (Dependency dependency : dependencies) {
+      rows.add(
+          Neo4jGraphDelta.dependencyRow(dependency.getFrom(), dependency.getTo(), dependency.getResolutionScope()));
+    }
+
+    writeBatched(MERGE_DEPENDENCIES_STATEMENT, rows, writer);
+  }
+
+  /**
+   * Writes the given {@code UNWIND} statement once per chunk of {@link Neo4jSettings#getBatchSize()} rows.
+   */
+  private void writeBatched(String statement, List<Map<String, Object>> rows, Neo4jWriter writer) {
+    for (List<Map<String, Object>> batch : Lists.partition(rows, this.settings.getBatchSize())) {
+      writer.write(new Statement(statement, singletonMap("rows", batch)));
+    }
+  }
 
-}
\ No newline at end of file
+}
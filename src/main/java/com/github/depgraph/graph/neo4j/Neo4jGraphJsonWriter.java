@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.github.depgraph.graph.neo4j.Neo4jGraph.Artifact;
+import com.github.depgraph.graph.neo4j.Neo4jGraph.Dependency;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Writes a {@link Neo4jGraph} token by token as JSON. Empty values are omitted, so the output is the same as with an
+ * {@code ObjectMapper} using {@code NON_EMPTY} inclusion, without creating an intermediate tree or string.
+ */
+final class Neo4jGraphJsonWriter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory()
+      // The caller owns the writer
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+      .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+  private Neo4jGraphJsonWriter() {
+  }
+
+  /**
+   * Writes the given graph.
+   *
+   * @param graph The graph.
+   * @param writer The writer. It is neither flushed nor closed.
+   * @param compact {@code true} to write the JSON without any indentation and line breaks.
+   * @throws IOException If writing to {@code writer} fails.
+   */
+  static void write(Neo4jGraph graph, Writer writer, boolean compact) throws IOException {
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+      if (!compact) {
+        generator.setPrettyPrinter(new DefaultPrettyPrinter().withObjectIndenter(new DefaultIndenter("  ", "\n")));
+      }
+
+      generator.writeStartObject();
+      writeString(generator, "graphName", graph.getGraphName());
+      writeArtifacts(generator, graph.getArtifacts());
+      writeDependencies(generator, graph.getDependencies());
+      generator.writeEndObject();
+    }
+  }
+
+  private static void writeArtifacts(JsonGenerator generator, Collection<Artifact> artifacts) throws IOException {
+    if (artifacts.isEmpty()) {
+      return;
+    }
+
+    generator.writeArrayFieldStart("artifacts");
+    for (Artifact artifact : artifacts) {
+      generator.writeStartObject();
+      writeString(generator, "id", artifact.getId());
+      generator.writeNumberField("numericId", artifact.getNumericId());
+      writeData(generator, artifact.getData());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private static void writeDependencies(JsonGenerator generator, Collection<Dependency> dependencies)
+      throws IOException {
+    if (dependencies.isEmpty()) {
+      return;
+    }
+
+    generator.writeArrayFieldStart("dependencies");
+    for (Dependency dependency : dependencies) {
+      generator.writeStartObject();
+      writeString(generator, "from", dependency.getFrom());
+      writeString(generator, "to", dependency.getTo());
+      generator.writeNumberField("numericFrom", dependency.getNumericFrom());
+      generator.writeNumberField("numericTo", dependency.getNumericTo());
+      writeData(generator, dependency.getData());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private static void writeData(JsonGenerator generator, Map<?, ?> data) throws IOException {
+    for (Map.Entry<?, ?> entry : data.entrySet()) {
+      Object value = entry.getValue();
+      String fieldName = String.valueOf(entry.getKey());
+
+      if (value instanceof Boolean) {
+        generator.writeBooleanField(fieldName, (Boolean) value);
+      } else if (value instanceof Integer || value instanceof Long) {
+        generator.writeNumberField(fieldName, ((Number) value).longValue());
+      } else if (value != null) {
+        writeString(generator, fieldName, value.toString());
+      }
+    }
+  }
+
+  private static void writeString(JsonGenerator generator, String fieldName, String value) throws IOException {
+    if (value != null && !value.isEmpty()) {
+      generator.writeStringField(fieldName, value);
+    }
+  }
+}
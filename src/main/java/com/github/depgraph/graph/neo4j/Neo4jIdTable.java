@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns dense numeric IDs to node IDs. The numeric IDs are assigned in the order in which the node IDs are added,
+ * starting at {@code 0}.
+ */
+class Neo4jIdTable {
+
+  private final Map<String, Integer> numericIds = new HashMap<>();
+
+  /**
+   * Returns the numeric ID of the given node ID and assigns a new one if the node ID is unknown.
+   *
+   * @param nodeId Node ID.
+   * @return The numeric ID.
+   */
+  int getOrAssign(String nodeId) {
+    return this.numericIds.computeIfAbsent(nodeId, k -> this.numericIds.size());
+  }
+
+  /**
+   * Returns the numeric ID of the given node ID.
+   *
+   * @param nodeId Node ID.
+   * @return The numeric ID or {@code null} if the node ID is unknown.
+   */
+  Integer get(String nodeId) {
+    return this.numericIds.get(nodeId);
+  }
+
+  boolean contains(String nodeId) {
+    return this.numericIds.containsKey(nodeId);
+  }
+}
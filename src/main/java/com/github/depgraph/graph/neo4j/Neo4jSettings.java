@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.neo4j.driver.v1.AuthToken;
+
+/**
+ * Connection and write settings used by the {@link Neo4jGraphFormatter} and the {@link Neo4jCsvGraphFormatter}.
+ */
+public final class Neo4jSettings {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  public static final int DEFAULT_COMMIT_SIZE = 10;
+  public static final int DEFAULT_MAX_CONNECTION_POOL_SIZE = 100;
+  public static final long DEFAULT_CONNECTION_ACQUISITION_TIMEOUT = 60_000;
+  public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+  private final String uri;
+  private final AuthToken authToken;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int commitSize = DEFAULT_COMMIT_SIZE;
+  private int maxConnectionPoolSize = DEFAULT_MAX_CONNECTION_POOL_SIZE;
+  private long connectionAcquisitionTimeout = DEFAULT_CONNECTION_ACQUISITION_TIMEOUT;
+  private boolean async;
+  private boolean deltaSync;
+  private boolean skipUnchanged;
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+  private boolean createSchema = true;
+  private boolean createIndexes;
+  private boolean compactJson;
+  private Path importDirectory = Paths.get("target", "neo4j-import");
+  private Log log = new SystemStreamLog();
+
+  private Neo4jSettings(String uri, AuthToken authToken) {
+    this.uri = uri;
+    this.authToken = authToken;
+  }
+
+  public static Neo4jSettings create(String uri, AuthToken authToken) {
+    return new Neo4jSettings(uri, authToken);
+  }
+
+  /**
+   * Sets the maximum number of rows that are sent to Neo4j within a single {@code UNWIND} statement.
+   *
+   * @param batchSize The batch size, must be positive.
+   * @return These settings.
+   */
+  public Neo4jSettings batchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * Sets the number of (batched) statements that are executed within a single explicit transaction.
+   *
+   * @param commitSize The commit size, must be positive.
+   * @return These settings.
+   */
+  public Neo4jSettings commitSize(int commitSize) {
+    if (commitSize < 1) {
+      throw new IllegalArgumentException("Commit size must be positive: " + commitSize);
+    }
+
+    this.commitSize = commitSize;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of connections in the pool of the shared driver.
+   *
+   * @param maxConnectionPoolSize The pool size.
+   * @return These settings.
+   * @see Neo4jDriverRegistry
+   */
+  public Neo4jSettings maxConnectionPoolSize(int maxConnectionPoolSize) {
+    this.maxConnectionPoolSize = maxConnectionPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for a connection from the pool of the shared driver.
+   *
+   * @param connectionAcquisitionTimeout The timeout in milliseconds.
+   * @return These settings.
+   * @see Neo4jDriverRegistry
+   */
+  public Neo4jSettings connectionAcquisitionTimeout(long connectionAcquisitionTimeout) {
+    this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
+    return this;
+  }
+
+  /**
+   * Whether the statements should be written with the asynchronous API of the driver. Asynchronous writes pipeline
+   * up to {@link #maxInFlight(int)} statements instead of waiting for the result of each statement.
+   *
+   * @param async {@code true} to write asynchronously.
+   * @return These settings.
+   */
+  public Neo4jSettings async(boolean async) {
+    this.async = async;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of statements that are in flight when writing asynchronously.
+   *
+   * @param maxInFlight The maximum number of statements in flight, must be positive.
+   * @return These settings.
+   */
+  public Neo4jSettings maxInFlight(int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Max in-flight statements must be positive: " + maxInFlight);
+    }
+
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  /**
+   * Whether only the difference to the graph stored in Neo4j should be written.
+   *
+   * @param deltaSync {@code true} to read the existing graph first and write only the new artifacts and
+   * dependencies and delete the stale dependencies.
+   * @return These settings.
+   * @see Neo4jGraphDelta
+   */
+  public Neo4jSettings deltaSync(boolean deltaSync) {
+    this.deltaSync = deltaSync;
+    return this;
+  }
+
+  /**
+   * Whether writing the graph should be skipped if it did not change since it was written the last time.
+   *
+   * @param skipUnchanged {@code true} to compare the fingerprint of the graph with the stored fingerprint before
+   * writing.
+   * @return These settings.
+   * @see Neo4jGraphFingerprint
+   */
+  public Neo4jSettings skipUnchanged(boolean skipUnchanged) {
+    this.skipUnchanged = skipUnchanged;
+    return this;
+  }
+
+  /**
+   * Whether the uniqueness constraint on {@code :Artifact(id)} should be created before the first write.
+   *
+   * @param createSchema {@code true} to create the constraint if it does not exist yet.
+   * @return These settings.
+   */
+  public Neo4jSettings createSchema(boolean createSchema) {
+    this.createSchema = createSchema;
+    return this;
+  }
+
+  /**
+   * Whether additional indexes on {@code :Artifact(groupId)} and {@code :Artifact(artifactId)} should be created
+   * together with the schema.
+   *
+   * @param createIndexes {@code true} to create the indexes if they do not exist yet.
+   * @return These settings.
+   */
+  public Neo4jSettings createIndexes(boolean createIndexes) {
+    this.createIndexes = createIndexes;
+    return this;
+  }
+
+  /**
+   * Whether the JSON graph file should be written without indentation and line breaks.
+   *
+   * @param compactJson {@code true} for compact JSON.
+   * @return These settings.
+   */
+  public Neo4jSettings compactJson(boolean compactJson) {
+    this.compactJson = compactJson;
+    return this;
+  }
+
+  /**
+   * Sets the directory into which the {@link Neo4jCsvGraphFormatter} writes the files for {@code neo4j-admin import}.
+   *
+   * @param importDirectory The import directory.
+   * @return These settings.
+   */
+  public Neo4jSettings importDirectory(Path importDirectory) {
+    this.importDirectory = importDirectory;
+    return this;
+  }
+
+  public Neo4jSettings log(Log log) {
+    this.log = log;
+    return this;
+  }
+
+  public String getUri() {
+    return this.uri;
+  }
+
+  public AuthToken getAuthToken() {
+    return this.authToken;
+  }
+
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  public int getCommitSize() {
+    return this.commitSize;
+  }
+
+  public int getMaxConnectionPoolSize() {
+    return this.maxConnectionPoolSize;
+  }
+
+  public long getConnectionAcquisitionTimeout() {
+    return this.connectionAcquisitionTimeout;
+  }
+
+  public boolean isAsync() {
+    return this.async;
+  }
+
+  public int getMaxInFlight() {
+    return this.maxInFlight;
+  }
+
+  public boolean isDeltaSync() {
+    return this.deltaSync;
+  }
+
+  public boolean isSkipUnchanged() {
+    return this.skipUnchanged;
+  }
+
+  public boolean isCreateSchema() {
+    return this.createSchema;
+  }
+
+  public boolean isCreateIndexes() {
+    return this.createIndexes;
+  }
+
+  public boolean isCompactJson() {
+    return this.compactJson;
+  }
+
+  public Path getImportDirectory() {
+    return this.importDirectory;
+  }
+
+  public Log getLog() {
+    return this.log;
+  }
+}
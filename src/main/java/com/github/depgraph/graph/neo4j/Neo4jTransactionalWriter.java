@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.Transaction;
+
+/**
+ * Writes statements to Neo4j in explicit transactions. Statements are collected until the configured commit size is
+ * reached and then executed and committed within a single transaction. If any statement of a chunk fails, the whole
+ * chunk is rolled back and the exception is propagated, so that no further chunks are written.
+ */
+class Neo4jTransactionalWriter implements Neo4jWriter {
+
+  private final Session session;
+  private final int commitSize;
+  private final Neo4jWriteStatistics statistics;
+  private final List<Statement> chunk;
+
+  Neo4jTransactionalWriter(Session session, int commitSize, Neo4jWriteStatistics statistics) {
+    this.session = session;
+    this.commitSize = commitSize;
+    this.statistics = statistics;
+    this.chunk = new ArrayList<>(commitSize);
+  }
+
+  @Override
+  public void write(Statement statement) {
+    this.chunk.add(statement);
+    if (this.chunk.size() >= this.commitSize) {
+      flush();
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (this.chunk.isEmpty()) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    boolean committed = false;
+    try {
+      // Closing the transaction commits it if it was marked as successful and rolls it back otherwise
+      try (Transaction transaction = this.session.beginTransaction()) {
+        for (Statement statement : this.chunk) {
+          transaction.run(statement).consume();
+        }
+
+        transaction.success();
+      }
+      committed = true;
+    } finally {
+      long duration = System.nanoTime() - start;
+      if (committed) {
+        this.statistics.recordCommit(this.chunk.size(), duration);
+      } else {
+        this.statistics.recordRollback(duration);
+      }
+
+      this.chunk.clear();
+    }
+  }
+}
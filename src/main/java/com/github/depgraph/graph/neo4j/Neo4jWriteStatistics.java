@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the number of statements, commits and rollbacks and the latencies of the transactions (chunks) that were
+ * executed while writing a graph to Neo4j.
+ */
+class Neo4jWriteStatistics {
+
+  private int statements;
+  private int commits;
+  private int rollbacks;
+  private long minChunkNanos = Long.MAX_VALUE;
+  private long maxChunkNanos;
+  private long totalChunkNanos;
+
+  synchronized void recordCommit(int statements, long chunkNanos) {
+    this.statements += statements;
+    this.commits++;
+    recordChunk(chunkNanos);
+  }
+
+  synchronized void recordRollback(long chunkNanos) {
+    this.rollbacks++;
+    recordChunk(chunkNanos);
+  }
+
+  synchronized int getStatements() {
+    return this.statements;
+  }
+
+  synchronized int getCommits() {
+    return this.commits;
+  }
+
+  synchronized int getRollbacks() {
+    return this.rollbacks;
+  }
+
+  private void recordChunk(long chunkNanos) {
+    this.minChunkNanos = Math.min(this.minChunkNanos, chunkNanos);
+    this.maxChunkNanos = Math.max(this.maxChunkNanos, chunkNanos);
+    this.totalChunkNanos += chunkNanos;
+  }
+
+  @Override
+  public synchronized String toString() {
+    int chunks = this.commits + this.rollbacks;
+    if (chunks == 0) {
+      return "No statements written";
+    }
+
+    return this.statements + " statement(s) written in " + this.commits + " commit(s) and " + this.rollbacks
+        + " rollback(s), chunk latency min/avg/max: "
+        + toMillis(this.minChunkNanos) + "/" + toMillis(this.totalChunkNanos / chunks) + "/"
+        + toMillis(this.maxChunkNanos) + " ms";
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
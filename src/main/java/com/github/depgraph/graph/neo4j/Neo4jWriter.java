@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import org.neo4j.driver.v1.Statement;
+
+/**
+ * Writes statements to Neo4j.
+ */
+interface Neo4jWriter {
+
+  /**
+   * Writes the given statement. Depending on the implementation, the statement might be executed later.
+   *
+   * @param statement Statement.
+   */
+  void write(Statement statement);
+
+  /**
+   * Executes and commits all pending statements.
+   */
+  void flush();
+}
@@ -18,6 +18,8 @@ package com.github.depgraph.graph.text;
 import com.github.depgraph.graph.Edge;
 import com.github.depgraph.graph.GraphFormatter;
 import com.github.depgraph.graph.Node;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -35,12 +37,9 @@ public class TextGraphFormatter implements GraphFormatter {
   }
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    TextGraphWriter writer = new TextGraphWriter(nodes, edges, this.repeatTransitiveDependencies);
-    StringBuilder graphStringBuilder = new StringBuilder();
-    writer.write(graphStringBuilder);
-
-    return graphStringBuilder.toString();
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer)
+      throws IOException {
+    new TextGraphWriter(nodes, edges, this.repeatTransitiveDependencies).write(writer);
   }
 
   private static class TextGraphWriter {
@@ -65,16 +64,16 @@ public class TextGraphFormatter implements GraphFormatter {
       initializeRootElements(edges);
     }
 
-    void write(StringBuilder stringBuilder) {
+    void write(Writer writer) throws IOException {
       Iterator<String> rootIterator = this.roots.iterator();
       while (rootIterator.hasNext()) {
         String root = rootIterator.next();
         Node<?> fromNode = this.nodesById.get(root);
-        stringBuilder.append(fromNode.getNodeName()).append("\n");
+        writer.append(fromNode.getNodeName()).append("\n");
 
         List<Boolean> lastParents = new ArrayList<>();
         lastParents.add(!rootIterator.hasNext());
-        writeChildren(stringBuilder, root, lastParents);
+        writeChildren(writer, root, lastParents);
       }
     }
 
@@ -97,7 +96,7 @@ public class TextGraphFormatter implements GraphFormatter {
       }
     }
 
-    private void writeChildren(StringBuilder stringBuilder, String parent, List<Boolean> lastParents) {
+    private void writeChildren(Writer writer, String parent, List<Boolean> lastParents) throws IOException {
       Collection<Edge> edges = this.relations.get(parent);
       Iterator<Edge> edgeIterator = edges.iterator();
 
@@ -106,12 +105,12 @@ public class TextGraphFormatter implements GraphFormatter {
         Node<?> childNode = this.nodesById.get(edge.getToNodeId());
 
         // Write the current child node
-        indent(stringBuilder, lastParents, !edgeIterator.hasNext());
-        writeChildNode(stringBuilder, childNode.getNodeName(), edge.getName());
+        indent(writer, lastParents, !edgeIterator.hasNext());
+        writeChildNode(writer, childNode.getNodeName(), edge.getName());
 
         // Recursively write sub tree
         lastParents.add(!edgeIterator.hasNext());
-        writeChildren(stringBuilder, childNode.getNodeId(), lastParents);
+        writeChildren(writer, childNode.getNodeId(), lastParents);
         lastParents.remove(lastParents.size() - 1);
       }
 
@@ -120,26 +119,26 @@ public class TextGraphFormatter implements GraphFormatter {
       }
     }
 
-    private void indent(StringBuilder stringBuilder, List<Boolean> lastParents, boolean lastElement) {
+    private void indent(Writer writer, List<Boolean> lastParents, boolean lastElement) throws IOException {
       // Don't indent after the root element
       for (int i = 1; i < lastParents.size(); i++) {
-        stringBuilder.append(lastParents.get(i) ? INDENTATION_FOR_LAST_PARENT : INDENTATION_FOR_PARENT);
+        writer.append(lastParents.get(i) ? INDENTATION_FOR_LAST_PARENT : INDENTATION_FOR_PARENT);
       }
 
       // Use different element markers depending on whether the element is the last one in the sub tree.
       if (lastElement) {
-        stringBuilder.append(LAST_ELEMENT_MARKER);
+        writer.append(LAST_ELEMENT_MARKER);
       } else {
-        stringBuilder.append(ELEMENT_MARKER);
+        writer.append(ELEMENT_MARKER);
       }
     }
 
-    private void writeChildNode(StringBuilder stringBuilder, String childNodeName, String edgeName) {
-      stringBuilder.append(childNodeName);
+    private void writeChildNode(Writer writer, String childNodeName, String edgeName) throws IOException {
+      writer.append(childNodeName);
       if (edgeName != null && !edgeName.isEmpty()) {
-        stringBuilder.append(" (").append(edgeName).append(")");
+        writer.append(" (").append(edgeName).append(")");
       }
-      stringBuilder.append("\n");
+      writer.append("\n");
     }
   }
 }
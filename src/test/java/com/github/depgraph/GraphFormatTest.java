@@ -69,5 +69,6 @@ class GraphFormatTest {
   void getFileExtension() {
     assertEquals(".json", GraphFormat.JSON.getFileExtension());
     assertEquals(".txt", GraphFormat.TEXT.getFileExtension());
+    assertEquals(".sh", GraphFormat.CSV.getFileExtension());
   }
 }
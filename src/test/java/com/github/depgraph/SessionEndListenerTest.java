@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link SessionEndListener}.
+ */
+class SessionEndListenerTest {
+
+  private MavenExecutionRequest request;
+  private MavenSession session;
+  private AtomicInteger delegateEvents;
+
+  @BeforeEach
+  void before() {
+    this.delegateEvents = new AtomicInteger();
+    this.request = new DefaultMavenExecutionRequest();
+    this.request.setExecutionListener(new AbstractExecutionListener() {
+
+      @Override
+      public void mojoSucceeded(ExecutionEvent event) {
+        SessionEndListenerTest.this.delegateEvents.incrementAndGet();
+      }
+
+      @Override
+      public void sessionEnded(ExecutionEvent event) {
+        SessionEndListenerTest.this.delegateEvents.incrementAndGet();
+      }
+    });
+    this.session = new MavenSession(null, new DefaultRepositorySystemSession(), this.request,
+        new DefaultMavenExecutionResult());
+  }
+
+  @Test
+  void actionRunsOnceAtSessionEnd() {
+    // arrange
+    AtomicInteger firstAction = new AtomicInteger();
+    AtomicInteger secondAction = new AtomicInteger();
+    SessionEndListener.register(this.session, firstAction::incrementAndGet);
+    SessionEndListener.register(this.session, secondAction::incrementAndGet);
+
+    // act
+    this.request.getExecutionListener().mojoSucceeded(null);
+    int actionsBeforeSessionEnd = firstAction.get();
+    this.request.getExecutionListener().sessionEnded(null);
+
+    // assert
+    assertEquals(0, actionsBeforeSessionEnd);
+    assertEquals(1, firstAction.get());
+    assertEquals(0, secondAction.get());
+    assertEquals(2, this.delegateEvents.get());
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.depgraph.graph.Edge;
+import com.github.depgraph.graph.GraphBuilder;
+import com.github.depgraph.graph.Node;
+import com.github.depgraph.graph.TestFormatter;
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.project.DependencyResolutionException;
+import org.apache.maven.project.DependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link AggregatingGraphFactory}.
+ */
+class AggregatingGraphFactoryTest {
+
+  private ProjectDependenciesResolver dependenciesResolver;
+  private RepositorySystemSession repositorySession;
+  private Map<MavenProject, org.eclipse.aether.graph.DependencyNode> dependencyGraphs;
+  private TestFormatter formatter;
+  private GraphBuilder<DependencyNode> graphBuilder;
+  private MavenGraphAdapter graphAdapter;
+
+  @BeforeEach
+  void before() throws Exception {
+    this.repositorySession = mock(RepositorySystemSession.class);
+    when(this.repositorySession.getData()).thenReturn(new DefaultSessionData());
+
+    this.dependencyGraphs = new HashMap<>();
+    this.dependenciesResolver = mock(ProjectDependenciesResolver.class);
+    when(this.dependenciesResolver.resolve(any(DependencyResolutionRequest.class))).thenAnswer(invocation -> {
+      DependencyResolutionRequest request = invocation.getArgument(0);
+      DependencyResolutionResult result = mock(DependencyResolutionResult.class);
+      when(result.getDependencyGraph()).thenReturn(this.dependencyGraphs.get(request.getMavenProject()));
+      return result;
+    });
+
+    this.formatter = new TestFormatter();
+    this.graphBuilder = GraphBuilder.create(DependencyNodeIdRenderer.versionlessId());
+    this.graphBuilder.graphFormatter(this.formatter);
+    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, artifact -> true, artifact -> true,
+        EnumSet.of(NodeResolution.INCLUDED));
+  }
+
+  @Test
+  void aggregatedGraph() throws Exception {
+    // arrange
+    MavenProject moduleA = createProject("module-a");
+    MavenProject moduleB = createProject("module-b");
+    MavenProject parent = createProject("parent");
+    this.dependencyGraphs.put(moduleA, createDependencyGraph("module-a", "library"));
+    this.dependencyGraphs.put(moduleB, createDependencyGraph("module-b", "module-a", "library"));
+    this.dependencyGraphs.put(parent, createDependencyGraph("parent"));
+
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.graphAdapter,
+        asList(parent, moduleA, moduleB), artifact -> true, this.graphBuilder, false, 2);
+
+    // act
+    graphFactory.writeGraph(parent, new StringWriter());
+
+    // assert
+    verify(this.dependenciesResolver, times(3)).resolve(any(DependencyResolutionRequest.class));
+    assertEquals("parent", this.formatter.graphName);
+    assertEquals(new HashSet<>(asList("g:parent:1.0", "g:module-a:1.0", "g:module-b:1.0", "g:library:1.0")),
+        this.formatter.nodes.stream().map(Node::getNodeId).collect(Collectors.toSet()));
+    assertEquals(new HashSet<>(asList(
+        new Edge("g:module-a:1.0", "g:library:1.0", ""),
+        new Edge("g:module-b:1.0", "g:module-a:1.0", ""),
+        new Edge("g:module-b:1.0", "g:library:1.0", ""))),
+        new HashSet<>(this.formatter.edges));
+  }
+
+  @Test
+  void resolutionFailure() throws Exception {
+    // arrange
+    MavenProject project = createProject("module");
+    DependencyResolutionException exception =
+        new DependencyResolutionException(mock(DependencyResolutionResult.class), "boom", new Exception());
+    when(this.dependenciesResolver.resolve(any(DependencyResolutionRequest.class))).thenThrow(exception);
+
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.graphAdapter, singletonList(project),
+        artifact -> true, this.graphBuilder, false, 2);
+
+    // act
+    DependencyGraphException result =
+        assertThrows(DependencyGraphException.class, () -> graphFactory.writeGraph(project, new StringWriter()));
+
+    // assert
+    assertSame(exception, result.getCause());
+  }
+
+  private MavenProject createProject(String artifactId) {
+    MavenProject project = new MavenProject();
+    project.setGroupId("g");
+    project.setArtifactId(artifactId);
+    project.setVersion("1.0");
+    project.setArtifact(
+        new DefaultArtifact("g", artifactId, "1.0", null, "jar", "", new DefaultArtifactHandler("jar")));
+
+    ProjectBuildingRequest projectBuildingRequest = mock(ProjectBuildingRequest.class);
+    when(projectBuildingRequest.getRepositorySession()).thenReturn(this.repositorySession);
+    //noinspection deprecation
+    project.setProjectBuildingRequest(projectBuildingRequest);
+
+    return project;
+  }
+
+  private static org.eclipse.aether.graph.DependencyNode createDependencyGraph(String artifactId,
+      String... dependencies) {
+    DefaultDependencyNode root = new DefaultDependencyNode(createArtifact(artifactId));
+    List<org.eclipse.aether.graph.DependencyNode> children = asList(dependencies).stream()
+        .map(dependency -> new DefaultDependencyNode(new Dependency(createArtifact(dependency), "compile")))
+        .collect(Collectors.toList());
+    root.setChildren(children);
+
+    return root;
+  }
+
+  private static org.eclipse.aether.artifact.Artifact createArtifact(String artifactId) {
+    return new org.eclipse.aether.artifact.DefaultArtifact("g", artifactId, "jar", "1.0");
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link DependencyGraphCache}.
+ */
+class DependencyGraphCacheTest {
+
+  private DefaultRepositorySystemSession session;
+
+  @BeforeEach
+  void before() {
+    this.session = new DefaultRepositorySystemSession();
+  }
+
+  @Test
+  void sameCacheForSession() {
+    // act
+    DependencyGraphCache cache1 = DependencyGraphCache.forSession(this.session);
+    DependencyGraphCache cache2 = DependencyGraphCache.forSession(new DefaultRepositorySystemSession(this.session));
+
+    // assert
+    assertSame(cache1, cache2);
+  }
+
+  @Test
+  void cachedGraph() {
+    // arrange
+    DependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:artifactId:1.0.0"));
+    DependencyGraphCache.forSession(this.session).put("key", root);
+
+    // act
+    DependencyNode result = DependencyGraphCache.forSession(this.session).get("key");
+
+    // assert
+    assertSame(root, result);
+    assertNull(DependencyGraphCache.forSession(this.session).get("other-key"));
+  }
+
+  @Test
+  void clear() {
+    // arrange
+    DependencyGraphCache cache = DependencyGraphCache.forSession(this.session);
+    cache.put("key", new DefaultDependencyNode(new DefaultArtifact("groupId:artifactId:1.0.0")));
+
+    // act
+    DependencyGraphCache.clear(this.session);
+
+    // assert
+    DependencyGraphCache newCache = DependencyGraphCache.forSession(this.session);
+    assertNotSame(cache, newCache);
+    assertNull(newCache.get("key"));
+  }
+}
@@ -18,6 +18,8 @@ package com.github.depgraph.dependency;
 import static org.eclipse.aether.util.graph.transformer.ConflictResolver.NODE_DATA_WINNER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -126,6 +128,56 @@ class DependencyNodeTest {
     assertEquals("compile", adapter.getArtifact().getScope());
   }
 
+  @Test
+  void defaultCompileScopeDoesNotModifyArtifact() {
+    // arrange
+    Artifact artifact = createMavenArtifact();
+    artifact.setScope(null);
+
+    // act
+    DependencyNode adapter = new DependencyNode(artifact);
+
+    // assert
+    assertEquals("compile", adapter.getScope());
+    assertNull(artifact.getScope());
+  }
+
+  @Test
+  void coordinatesFromAetherDependencyNode() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode aetherDependencyNode = createAetherDependencyNode();
+
+    // act
+    DependencyNode adapter = new DependencyNode(aetherDependencyNode);
+
+    // assert
+    assertEquals("groupId", adapter.getGroupId());
+    assertEquals("artifactId", adapter.getArtifactId());
+    assertEquals("1.0.0", adapter.getVersion());
+    assertEquals("jar", adapter.getType());
+    assertEquals("", adapter.getClassifier());
+    assertEquals("compile", adapter.getScope());
+    assertEquals("groupId:artifactId:jar:1.0.0:compile", adapter.getArtifact().toString());
+  }
+
+  @Test
+  void mergedWithNonOptional() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode optionalNode = createAetherDependencyNode();
+    optionalNode.setOptional(true);
+    DependencyNode optionalDependencyNode = new DependencyNode(optionalNode);
+    DependencyNode nonOptionalDependencyNode = new DependencyNode(createAetherDependencyNode());
+
+    // act
+    DependencyNode result = optionalDependencyNode.mergedWith(nonOptionalDependencyNode);
+
+    // assert
+    assertFalse(result.isOptional());
+    assertFalse(result.getArtifact().isOptional());
+    assertTrue(optionalDependencyNode.isOptional());
+    assertSame(nonOptionalDependencyNode, nonOptionalDependencyNode.mergedWith(optionalDependencyNode));
+  }
+
   @Test
   void effectiveScope() {
     // arrange
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.depgraph.graph.Edge;
+import com.github.depgraph.graph.GraphBuilder;
+import com.github.depgraph.graph.TestFormatter;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link GraphBuildingVisitor}.
+ */
+class GraphBuildingVisitorTest {
+
+  private static final ArtifactFilter INCLUDE_ALL = artifact -> true;
+  private static final ArtifactFilter EXCLUDE_EXCLUDED = artifact -> !artifact.getArtifactId().startsWith("excluded");
+
+  private GraphBuilder<DependencyNode> graphBuilder;
+  private TestFormatter formatter;
+
+  @BeforeEach
+  void before() {
+    this.formatter = new TestFormatter();
+    this.graphBuilder = GraphBuilder.create(DependencyNodeIdRenderer.versionlessId());
+    this.graphBuilder.graphFormatter(this.formatter);
+  }
+
+  @Test
+  void edges() {
+    // arrange
+    DefaultDependencyNode root = createNode("root");
+    DefaultDependencyNode a = createNode("a");
+    DefaultDependencyNode b = createNode("b");
+    root.setChildren(singletonList(a));
+    a.setChildren(singletonList(b));
+
+    // act
+    root.accept(createVisitor(INCLUDE_ALL, 0));
+
+    // assert
+    assertEquals(edges(new Edge("g:root:1.0", "g:a:1.0", ""), new Edge("g:a:1.0", "g:b:1.0", "")), getEdges());
+  }
+
+  @Test
+  void maxDepth() {
+    // arrange
+    DefaultDependencyNode root = createNode("root");
+    DefaultDependencyNode a = createNode("a");
+    DefaultDependencyNode b = createNode("b");
+    DefaultDependencyNode c = createNode("c");
+    root.setChildren(singletonList(a));
+    a.setChildren(singletonList(b));
+    b.setChildren(singletonList(c));
+
+    // act
+    root.accept(createVisitor(INCLUDE_ALL, 2));
+
+    // assert
+    assertEquals(edges(new Edge("g:root:1.0", "g:a:1.0", ""), new Edge("g:a:1.0", "g:b:1.0", "")), getEdges());
+  }
+
+  @Test
+  void excludedSubtreeIsPruned() {
+    // arrange
+    DefaultDependencyNode root = createNode("root");
+    DefaultDependencyNode excluded = createNode("excluded");
+    excluded.setChildren(singletonList(createNode("excluded-child")));
+    root.setChildren(singletonList(excluded));
+    GraphBuildingVisitor visitor = createVisitor(EXCLUDE_EXCLUDED, 0);
+    root.accept(visitor);
+
+    // act
+    boolean result = visitor.visitEnter(excluded);
+
+    // assert
+    assertFalse(result);
+  }
+
+  @Test
+  void excludedNodeWithIncludedChildIsNotPruned() {
+    // arrange
+    DefaultDependencyNode root = createNode("root");
+    DefaultDependencyNode excluded = createNode("excluded");
+    DefaultDependencyNode a = createNode("a");
+    DefaultDependencyNode b = createNode("b");
+    excluded.setChildren(singletonList(a));
+    b.setChildren(singletonList(excluded));
+    root.setChildren(asList(excluded, b));
+    GraphBuildingVisitor visitor = createVisitor(EXCLUDE_EXCLUDED, 0);
+
+    // act
+    root.accept(visitor);
+
+    // assert
+    assertTrue(visitor.visitEnter(excluded));
+    assertEquals(edges(
+        new Edge("g:root:1.0", "g:a:1.0", ""),
+        new Edge("g:root:1.0", "g:b:1.0", ""),
+        new Edge("g:b:1.0", "g:a:1.0", "")), getEdges());
+  }
+
+  private GraphBuildingVisitor createVisitor(ArtifactFilter globalFilter, int maxDepth) {
+    return new GraphBuildingVisitor(this.graphBuilder, globalFilter, INCLUDE_ALL, INCLUDE_ALL,
+        EnumSet.allOf(NodeResolution.class), maxDepth);
+  }
+
+  private Set<Edge> getEdges() {
+    this.graphBuilder.toString();
+    return new HashSet<>(this.formatter.edges);
+  }
+
+  private static Set<Edge> edges(Edge... edges) {
+    return new HashSet<>(asList(edges));
+  }
+
+  private static DefaultDependencyNode createNode(String artifactId) {
+    return new DefaultDependencyNode(new Dependency(new DefaultArtifact("g:" + artifactId + ":1.0"), "compile"));
+  }
+}
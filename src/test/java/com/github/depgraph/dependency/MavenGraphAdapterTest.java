@@ -16,16 +16,28 @@
 package com.github.depgraph.dependency;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
+import static java.util.Arrays.asList;
+import static org.eclipse.aether.util.graph.transformer.ConflictResolver.CONFIG_PROP_VERBOSE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.github.depgraph.ToStringNodeIdRenderer;
+import com.github.depgraph.graph.Edge;
 import com.github.depgraph.graph.GraphBuilder;
+import com.github.depgraph.graph.TestFormatter;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.project.DependencyResolutionException;
 import org.apache.maven.project.DependencyResolutionRequest;
@@ -33,9 +45,11 @@ import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.DefaultSessionData;
 import org.eclipse.aether.RepositorySystemSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 /**
  * JUnit tests for {@link MavenGraphAdapter}.
@@ -46,6 +60,9 @@ class MavenGraphAdapterTest {
   private MavenProject mavenProject;
   private GraphBuilder<DependencyNode> graphBuilder;
   private ArtifactFilter globalFilter;
+  private ArtifactFilter transitiveIncludeExcludeFilter;
+  private ArtifactFilter targetFilter;
+  private RepositorySystemSession repositorySession;
   private MavenGraphAdapter graphAdapter;
 
 
@@ -56,13 +73,15 @@ class MavenGraphAdapterTest {
     this.mavenProject = new MavenProject();
     this.mavenProject.setArtifact(projectArtifact);
     ProjectBuildingRequest projectBuildingRequest = mock(ProjectBuildingRequest.class);
-    when(projectBuildingRequest.getRepositorySession()).thenReturn(mock(RepositorySystemSession.class));
+    this.repositorySession = mock(RepositorySystemSession.class);
+    when(this.repositorySession.getData()).thenReturn(new DefaultSessionData());
+    when(projectBuildingRequest.getRepositorySession()).thenReturn(this.repositorySession);
     //noinspection deprecation
     this.mavenProject.setProjectBuildingRequest(projectBuildingRequest);
 
     this.globalFilter = mock(ArtifactFilter.class);
-    ArtifactFilter transitiveIncludeExcludeFilter = mock(ArtifactFilter.class);
-    ArtifactFilter targetFilter = mock(ArtifactFilter.class);
+    this.transitiveIncludeExcludeFilter = mock(ArtifactFilter.class);
+    this.targetFilter = mock(ArtifactFilter.class);
     this.graphBuilder = GraphBuilder.create(ToStringNodeIdRenderer.INSTANCE);
 
     this.dependenciesResolver = mock(ProjectDependenciesResolver.class);
@@ -70,7 +89,7 @@ class MavenGraphAdapterTest {
     when(dependencyResolutionResult.getDependencyGraph()).thenReturn(mock(org.eclipse.aether.graph.DependencyNode.class));
     when(this.dependenciesResolver.resolve(any(DependencyResolutionRequest.class))).thenReturn(dependencyResolutionResult);
 
-    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(
+    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, this.transitiveIncludeExcludeFilter, this.targetFilter, EnumSet.of(
         NodeResolution.INCLUDED));
   }
 
@@ -93,4 +112,96 @@ class MavenGraphAdapterTest {
       assertEquals(exception, e.getCause());
     }
   }
+
+  @Test
+  void cachedDependencyGraph() throws Exception {
+    // act
+    this.graphAdapter.buildDependencyGraph(this.mavenProject, this.globalFilter, this.graphBuilder);
+    this.graphAdapter.buildDependencyGraph(this.mavenProject, this.globalFilter, this.graphBuilder);
+
+    // assert
+    verify(this.dependenciesResolver, times(1)).resolve(any(DependencyResolutionRequest.class));
+  }
+
+  @Test
+  void nonVerboseSessionForIncludedDependencies() throws Exception {
+    // act
+    this.graphAdapter.buildDependencyGraph(this.mavenProject, this.globalFilter, this.graphBuilder);
+
+    // assert
+    assertSame(this.repositorySession, captureResolutionRequest().getRepositorySession());
+  }
+
+  @Test
+  void verboseSessionForConflicts() throws Exception {
+    // arrange
+    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, this.transitiveIncludeExcludeFilter,
+        this.targetFilter, EnumSet.of(NodeResolution.INCLUDED, NodeResolution.OMITTED_FOR_CONFLICT));
+
+    // act
+    this.graphAdapter.buildDependencyGraph(this.mavenProject, this.globalFilter, this.graphBuilder);
+
+    // assert
+    RepositorySystemSession session = captureResolutionRequest().getRepositorySession();
+    assertNotSame(this.repositorySession, session);
+    assertEquals("true", session.getConfigProperties().get(CONFIG_PROP_VERBOSE));
+  }
+
+  @Test
+  void reuseProjectDependencies() throws Exception {
+    // arrange
+    Artifact projectArtifact = createArtifact("project", null);
+    Artifact dependency = createArtifact("dependency", "compile");
+    Artifact transitiveDependency = createArtifact("transitive", "runtime");
+    dependency.setDependencyTrail(asList(projectArtifact.getId(), dependency.getId()));
+    transitiveDependency.setDependencyTrail(
+        asList(projectArtifact.getId(), dependency.getId(), transitiveDependency.getId()));
+    this.mavenProject.setArtifact(projectArtifact);
+    this.mavenProject.setArtifacts(new LinkedHashSet<>(asList(dependency, transitiveDependency)));
+
+    TestFormatter formatter = new TestFormatter();
+    this.graphBuilder.graphFormatter(formatter);
+    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, artifact -> true, artifact -> true,
+        EnumSet.of(NodeResolution.INCLUDED), 0, true);
+
+    // act
+    this.graphAdapter.buildDependencyGraph(this.mavenProject, artifact -> true, this.graphBuilder);
+    this.graphBuilder.toString();
+
+    // assert
+    verify(this.dependenciesResolver, never()).resolve(any(DependencyResolutionRequest.class));
+    assertEquals(new HashSet<>(asList(
+        new Edge("g:project:jar:1.0:compile", "g:dependency:jar:1.0:compile", ""),
+        new Edge("g:dependency:jar:1.0:compile", "g:transitive:jar:1.0:runtime", ""))),
+        new HashSet<>(formatter.edges));
+  }
+
+  @Test
+  void reuseProjectDependenciesNotCollected() throws Exception {
+    // arrange
+    org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+    dependency.setGroupId("g");
+    dependency.setArtifactId("dependency");
+    dependency.setVersion("1.0");
+    this.mavenProject.setArtifact(createArtifact("project", null));
+    this.mavenProject.getModel().addDependency(dependency);
+    this.graphAdapter = new MavenGraphAdapter(this.dependenciesResolver, artifact -> true, artifact -> true,
+        EnumSet.of(NodeResolution.INCLUDED), 0, true);
+
+    // act
+    this.graphAdapter.buildDependencyGraph(this.mavenProject, artifact -> true, this.graphBuilder);
+
+    // assert
+    verify(this.dependenciesResolver).resolve(any(DependencyResolutionRequest.class));
+  }
+
+  private DependencyResolutionRequest captureResolutionRequest() throws Exception {
+    ArgumentCaptor<DependencyResolutionRequest> captor = ArgumentCaptor.forClass(DependencyResolutionRequest.class);
+    verify(this.dependenciesResolver).resolve(captor.capture());
+    return captor.getValue();
+  }
+
+  private static Artifact createArtifact(String artifactId, String scope) {
+    return new DefaultArtifact("g", artifactId, "1.0", scope, "jar", "", new DefaultArtifactHandler("jar"));
+  }
 }
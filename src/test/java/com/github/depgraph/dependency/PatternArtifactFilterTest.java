@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.AndArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link PatternArtifactFilter}.
+ */
+class PatternArtifactFilterTest {
+
+  private static final String[] PATTERN_TOKENS = {
+      "group", "group2", "artifact", "jar", "pom", "1.0.0", "2.0.0-SNAPSHOT", "*", "", "*oup*", "gr*", "*2",
+      "[1.0,2.0)", "(,1.0.0]", "[invalid"};
+
+  @Test
+  void noPatterns() {
+    // arrange
+    PatternArtifactFilter filter = new PatternArtifactFilter(emptyList(), emptyList());
+
+    // act
+    boolean result = filter.include(createArtifact("group", "artifact", "1.0.0"));
+
+    // assert
+    assertTrue(result);
+  }
+
+  @Test
+  void includes() {
+    // arrange
+    PatternArtifactFilter filter = new PatternArtifactFilter(asList("group:artifact", "other:*:jar"), emptyList());
+
+    // act
+    boolean result1 = filter.include(createArtifact("group", "artifact", "1.0.0"));
+    boolean result2 = filter.include(createArtifact("other", "artifact", "1.0.0"));
+    boolean result3 = filter.include(createArtifact("group", "other", "1.0.0"));
+
+    // assert
+    assertTrue(result1);
+    assertTrue(result2);
+    assertFalse(result3);
+  }
+
+  @Test
+  void excludes() {
+    // arrange
+    PatternArtifactFilter filter = new PatternArtifactFilter(singletonList("group*"), singletonList("*:*:*:[2.0,)"));
+
+    // act
+    boolean result1 = filter.include(createArtifact("group", "artifact", "1.0.0"));
+    boolean result2 = filter.include(createArtifact("group", "artifact", "2.0.0"));
+
+    // assert
+    assertTrue(result1);
+    assertFalse(result2);
+  }
+
+  @Test
+  void sameResultAsStrictPatternFilters() {
+    Random random = new Random(4711);
+
+    for (int i = 0; i < 1000; i++) {
+      // arrange
+      List<String> includes = createPatterns(random);
+      List<String> excludes = createPatterns(random);
+      AndArtifactFilter expectedFilter = new AndArtifactFilter();
+      if (!includes.isEmpty()) {
+        expectedFilter.add(new StrictPatternIncludesArtifactFilter(includes));
+      }
+      if (!excludes.isEmpty()) {
+        expectedFilter.add(new StrictPatternExcludesArtifactFilter(excludes));
+      }
+
+      // act
+      PatternArtifactFilter filter = new PatternArtifactFilter(includes, excludes);
+
+      // assert
+      for (int j = 0; j < 10; j++) {
+        Artifact artifact = createArtifact(random.nextBoolean() ? "group" : "group2",
+            random.nextBoolean() ? "artifact" : "other", random.nextBoolean() ? "1.0.0" : "2.0.0-SNAPSHOT");
+        assertEquals(expectedFilter.include(artifact), filter.include(artifact),
+            includes + " " + excludes + " " + artifact);
+      }
+    }
+  }
+
+  private static List<String> createPatterns(Random random) {
+    List<String> patterns = new ArrayList<>();
+    int patternCount = random.nextInt(3);
+    for (int i = 0; i < patternCount; i++) {
+      int tokenCount = random.nextInt(6);
+      StringBuilder pattern = new StringBuilder();
+      for (int j = 0; j < tokenCount; j++) {
+        if (j > 0) {
+          pattern.append(':');
+        }
+        pattern.append(PATTERN_TOKENS[random.nextInt(PATTERN_TOKENS.length)]);
+      }
+      patterns.add(pattern.toString());
+    }
+
+    return patterns;
+  }
+
+  private static Artifact createArtifact(String groupId, String artifactId, String version) {
+    return new DefaultArtifact(groupId, artifactId, version, "compile", "jar", "", null);
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.aether.util.graph.transformer.ConflictResolver.NODE_DATA_WINNER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for {@link PersistentDependencyGraphCache}.
+ */
+class PersistentDependencyGraphCacheTest {
+
+  @TempDir
+  Path cacheDirectory;
+
+  private PersistentDependencyGraphCache cache;
+
+  @BeforeEach
+  void before() {
+    this.cache = new PersistentDependencyGraphCache(this.cacheDirectory);
+  }
+
+  @Test
+  void storeAndLoad() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:1.0.0"));
+    DefaultDependencyNode shared = createNode("groupId:shared:jar:tests:1.0.0", "test", false);
+    DefaultDependencyNode child1 = createNode("groupId:child1:1.0.0", "compile", true);
+    DefaultDependencyNode child2 = createNode("groupId:child2:pom:2.0.0", "runtime", false);
+    DefaultDependencyNode omitted = createNode("groupId:child1:1.0.0", "compile", false);
+    omitted.setData(NODE_DATA_WINNER, createNode("groupId:child1:1.0.0", "compile", false));
+    root.setChildren(Arrays.asList(child1, child2));
+    child1.setChildren(Collections.singletonList(shared));
+    child2.setChildren(Arrays.asList(shared, omitted));
+
+    // act
+    boolean stored = this.cache.store("key", root);
+    DependencyNode result = this.cache.load("key");
+
+    // assert
+    assertTrue(stored);
+    assertNull(result.getDependency());
+    assertEquals("groupId:root:jar:1.0.0", result.getArtifact().toString());
+    assertEquals(2, result.getChildren().size());
+
+    DependencyNode resultChild1 = result.getChildren().get(0);
+    assertEquals("groupId:child1:jar:1.0.0 (compile?)", resultChild1.getDependency().toString());
+    DependencyNode resultChild2 = result.getChildren().get(1);
+    assertEquals("groupId:child2:pom:2.0.0 (runtime)", resultChild2.getDependency().toString());
+
+    DependencyNode resultShared = resultChild1.getChildren().get(0);
+    assertEquals("groupId:shared:jar:tests:1.0.0 (test)", resultShared.getDependency().toString());
+    assertSame(resultShared, resultChild2.getChildren().get(0));
+
+    DependencyNode resultOmitted = resultChild2.getChildren().get(1);
+    DependencyNode winner = (DependencyNode) resultOmitted.getData().get(NODE_DATA_WINNER);
+    assertEquals("1.0.0", winner.getArtifact().getVersion());
+  }
+
+  @Test
+  void typeProperty() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:1.0.0"));
+    DefaultArtifact artifact = new DefaultArtifact("groupId", "artifactId", "tests", "jar", "1.0.0",
+        Collections.singletonMap("type", "test-jar"), (File) null);
+    root.setChildren(Collections.singletonList(new DefaultDependencyNode(new Dependency(artifact, "test"))));
+
+    // act
+    this.cache.store("key", root);
+    DependencyNode result = this.cache.load("key");
+
+    // assert
+    assertEquals("test-jar", result.getChildren().get(0).getArtifact().getProperty("type", null));
+  }
+
+  @Test
+  void snapshotNotStored() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:1.0.0"));
+    root.setChildren(Collections.singletonList(createNode("groupId:child:1.0.0-SNAPSHOT", "compile", false)));
+
+    // act
+    boolean stored = this.cache.store("key", root);
+
+    // assert
+    assertFalse(stored);
+    assertNull(this.cache.load("key"));
+  }
+
+  @Test
+  void snapshotRootStored() {
+    // arrange
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:1.0.0-SNAPSHOT"));
+    root.setChildren(Collections.singletonList(createNode("groupId:child:1.0.0", "compile", false)));
+
+    // act
+    boolean stored = this.cache.store("key", root);
+    DependencyNode result = this.cache.load("key");
+
+    // assert
+    assertTrue(stored);
+    assertEquals("groupId:root:jar:1.0.0-SNAPSHOT", result.getArtifact().toString());
+    assertEquals(1, result.getChildren().size());
+  }
+
+  @Test
+  void snapshotReactorModuleStored() throws Exception {
+    // arrange
+    Path pomFile = Files.write(this.cacheDirectory.resolve("module-pom.xml"), "<project/>".getBytes(UTF_8));
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:1.0.0-SNAPSHOT"));
+    root.setChildren(Collections.singletonList(createNode("groupId:module:1.0.0-SNAPSHOT", "compile", false)));
+
+    // act
+    boolean stored = this.cache.store("key", root, new ReactorReader("groupId:module:pom:1.0.0-SNAPSHOT", pomFile));
+    DependencyNode result = this.cache.load("key");
+
+    // assert
+    assertTrue(stored);
+    assertEquals("groupId:module:jar:1.0.0-SNAPSHOT", result.getChildren().get(0).getArtifact().toString());
+  }
+
+  @Test
+  void changedReactorModuleNotLoaded() throws Exception {
+    // arrange
+    Path pomFile = Files.write(this.cacheDirectory.resolve("module-pom.xml"), "<project/>".getBytes(UTF_8));
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:1.0.0-SNAPSHOT"));
+    root.setChildren(Collections.singletonList(createNode("groupId:module:1.0.0-SNAPSHOT", "compile", false)));
+    this.cache.store("key", root, new ReactorReader("groupId:module:pom:1.0.0-SNAPSHOT", pomFile));
+    Files.write(pomFile, "<project><packaging>pom</packaging></project>".getBytes(UTF_8));
+
+    // act
+    DependencyNode result = this.cache.load("key");
+
+    // assert
+    assertNull(result);
+  }
+
+  @Test
+  void unknownKey() {
+    // act
+    DependencyNode result = this.cache.load("unknown");
+
+    // assert
+    assertNull(result);
+  }
+
+  /**
+   * Knows the POM of a single reactor module.
+   */
+  private static final class ReactorReader implements WorkspaceReader {
+
+    private final String pomCoordinates;
+    private final Path pomFile;
+
+    ReactorReader(String pomCoordinates, Path pomFile) {
+      this.pomCoordinates = pomCoordinates;
+      this.pomFile = pomFile;
+    }
+
+    @Override
+    public WorkspaceRepository getRepository() {
+      return new WorkspaceRepository("reactor");
+    }
+
+    @Override
+    public File findArtifact(Artifact artifact) {
+      return this.pomCoordinates.equals(artifact.toString()) ? this.pomFile.toFile() : null;
+    }
+
+    @Override
+    public List<String> findVersions(Artifact artifact) {
+      return Collections.emptyList();
+    }
+  }
+
+  private static DefaultDependencyNode createNode(String coordinates, String scope, boolean optional) {
+    return new DefaultDependencyNode(new Dependency(new DefaultArtifact(coordinates), scope, optional));
+  }
+}
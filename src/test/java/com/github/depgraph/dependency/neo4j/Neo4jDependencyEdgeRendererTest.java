@@ -15,9 +15,18 @@
  */
 package com.github.depgraph.dependency.neo4j;
 
+import static com.github.depgraph.dependency.DependencyNodeUtil.createDependencyNode;
+import static com.github.depgraph.dependency.DependencyNodeUtil.createDependencyNodeWithConflict;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 import com.github.depgraph.dependency.AbstractDependencyEdgeRendererTest;
 import com.github.depgraph.dependency.DependencyNode;
 import com.github.depgraph.graph.EdgeRenderer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
 
 public class Neo4jDependencyEdgeRendererTest extends AbstractDependencyEdgeRendererTest {
 
@@ -50,4 +59,40 @@ public class Neo4jDependencyEdgeRendererTest extends AbstractDependencyEdgeRende
   protected String renderWithDuplicateResult() {
     return "{\"resolution\":\"OMITTED_FOR_DUPLICATE\",\"resolutionScope\":\"compile\"}";
   }
+
+  @Test
+  void renderAttributes() {
+    // arrange
+    Neo4jDependencyEdgeRenderer renderer = new Neo4jDependencyEdgeRenderer(true);
+    DependencyNode from = createDependencyNode("group1", "artifact1", "version1");
+    DependencyNode to = createDependencyNodeWithConflict("group2", "artifact2", "version2");
+
+    // act
+    Map<String, Object> result = renderer.renderAttributes(from, to);
+
+    // assert
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("resolution", "OMITTED_FOR_CONFLICT");
+    expected.put("resolutionScope", "compile");
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void renderAttributesSharesInstances() {
+    // arrange
+    Neo4jDependencyEdgeRenderer renderer = new Neo4jDependencyEdgeRenderer(true);
+    DependencyNode from = createDependencyNode("group1", "artifact1", "version1");
+    DependencyNode to1 = createDependencyNodeWithConflict("group2", "artifact2", "version2");
+    DependencyNode to2 = createDependencyNodeWithConflict("group3", "artifact3", "version3");
+    DependencyNode to3 = createDependencyNode("group4", "artifact4", "version4");
+
+    // act
+    Map<String, Object> result1 = renderer.renderAttributes(from, to1);
+    Map<String, Object> result2 = renderer.renderAttributes(from, to2);
+    Map<String, Object> result3 = renderer.renderAttributes(from, to3);
+
+    // assert
+    assertSame(result1, result2);
+    assertNotSame(result1, result3);
+  }
 }
@@ -15,9 +15,15 @@
  */
 package com.github.depgraph.dependency.neo4j;
 
+import static com.github.depgraph.dependency.DependencyNodeUtil.createDependencyNode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import com.github.depgraph.dependency.DependencyNode;
 import com.github.depgraph.dependency.AbstractDependencyNodeNameRendererTest;
 import com.github.depgraph.graph.NodeRenderer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
 
 public class Neo4jDependencyNodeNameRendererTest extends AbstractDependencyNodeNameRendererTest {
 
@@ -116,4 +122,24 @@ public class Neo4jDependencyNodeNameRendererTest extends AbstractDependencyNodeN
   protected String renderAllResult() {
     return "{\"groupId\":\"groupId\",\"artifactId\":\"artifactId\",\"version\":\"version\",\"scope\":\"test\",\"type\":\"jar\"}";
   }
+
+  @Test
+  void renderAttributes() {
+    // arrange
+    Neo4jDependencyNodeNameRenderer renderer = new Neo4jDependencyNodeNameRenderer(true, true, false, false, true, true);
+    DependencyNode node = createDependencyNode("groupId", "artifactId", "version", true);
+
+    // act
+    Map<String, Object> result = renderer.renderAttributes(node);
+
+    // assert
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("groupId", "groupId");
+    expected.put("artifactId", "artifactId");
+    expected.put("version", "version");
+    expected.put("optional", true);
+    expected.put("scope", "compile");
+    assertEquals(expected, result);
+    assertEquals(renderGroupIdArtifactIdVersionOptionalResult(), renderer.render(node));
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link EdgeTable}.
+ */
+class EdgeTableTest {
+
+  @Test
+  void addDuplicate() {
+    // arrange
+    EdgeTable<String> edges = new EdgeTable<>();
+
+    // act
+    boolean first = edges.add(0, 1, "compile", false);
+    boolean duplicate = edges.add(0, 1, "compile", true);
+    boolean otherLabel = edges.add(0, 1, "test", false);
+
+    // assert
+    assertTrue(first);
+    assertFalse(duplicate);
+    assertTrue(otherLabel);
+    assertEquals(2, edges.size());
+    assertFalse(edges.isPermanent(0));
+  }
+
+  @Test
+  void containsPair() {
+    // arrange
+    EdgeTable<String> edges = new EdgeTable<>();
+    edges.add(0, 1, "", false);
+    edges.remove(0);
+
+    // act/assert
+    assertTrue(edges.containsPair(0, 1));
+    assertFalse(edges.containsPair(1, 0));
+  }
+
+  @Test
+  void addRemovedEdge() {
+    // arrange
+    EdgeTable<String> edges = new EdgeTable<>();
+    edges.add(0, 1, "", false);
+    edges.remove(0);
+
+    // act
+    boolean added = edges.add(0, 1, "", false);
+
+    // assert
+    assertTrue(added);
+    assertEquals(2, edges.size());
+    assertTrue(edges.isRemoved(0));
+    assertFalse(edges.isRemoved(1));
+  }
+
+  @Test
+  void manyEdges() {
+    // arrange
+    EdgeTable<String> edges = new EdgeTable<>();
+
+    // act
+    for (int i = 0; i < 1000; i++) {
+      edges.add(i, i + 1, "", false);
+    }
+
+    // assert
+    assertEquals(1000, edges.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, edges.getFrom(i));
+      assertEquals(i + 1, edges.getTo(i));
+      assertFalse(edges.add(i, i + 1, "", false));
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link Edge}.
+ */
+class EdgeTest {
+
+  @Test
+  void equalPayloadsAreShared() {
+    // arrange
+    Map<String, Object> attributes1 = new LinkedHashMap<>();
+    attributes1.put("resolution", "INCLUDED");
+    Map<String, Object> attributes2 = new LinkedHashMap<>(attributes1);
+
+    // act
+    Edge edge1 = new Edge("a", "b", "name", false, attributes1);
+    Edge edge2 = new Edge("c", "d", "name", false, attributes2);
+
+    // assert
+    assertSame(edge1.getAttributes(), edge2.getAttributes());
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    // arrange
+    Map<String, Object> attributes = Collections.singletonMap("resolution", "INCLUDED");
+    Edge edge = new Edge("a", "b", "name", false, attributes);
+
+    // act
+    Edge equalEdge = new Edge("a", "b", "name", true, new LinkedHashMap<>(attributes));
+    Edge otherName = new Edge("a", "b", "other", false, attributes);
+    Edge otherAttributes = new Edge("a", "b", "name", false, Collections.singletonMap("resolution", "OMITTED"));
+    Edge otherTarget = new Edge("a", "c", "name", false, attributes);
+
+    // assert
+    assertEquals(edge, equalEdge);
+    assertEquals(edge.hashCode(), equalEdge.hashCode());
+    assertNotEquals(edge, otherName);
+    assertNotEquals(edge, otherAttributes);
+    assertNotEquals(edge, otherTarget);
+  }
+}
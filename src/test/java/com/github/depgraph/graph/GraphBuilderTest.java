@@ -16,15 +16,20 @@
 package com.github.depgraph.graph;
 
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.depgraph.ToStringNodeIdRenderer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -159,6 +164,73 @@ class GraphBuilderTest {
     assertThat(this.formatter.edges, contains(new Edge(this.fromNode, this.toNode, "f->t")));
   }
 
+  @Test
+  void customAttributeRenderers() {
+    // arrange
+    this.graphBuilder
+        .useNodeAttributeRenderer(node -> singletonMap("name", node))
+        .useEdgeAttributeRenderer((from, to) -> singletonMap("name", from + "->" + to))
+        .addEdge(this.fromNode, this.toNode);
+
+    // act
+    this.graphBuilder.toString();
+
+    // assert
+    Node<?> fromNode = new Node<>(this.fromNode, "", "", singletonMap("name", this.fromNode));
+    Node<?> toNode = new Node<>(this.toNode, "", "", singletonMap("name", this.toNode));
+    assertThat(this.formatter.nodes, Matchers.containsInAnyOrder(fromNode, toNode));
+    assertThat(this.formatter.edges,
+        contains(new Edge(this.fromNode, this.toNode, "", false, singletonMap("name", "from->to"))));
+  }
+
+  @Test
+  void renderCache() {
+    // arrange
+    String otherFromNode = new String(this.fromNode);
+    CountingNodeRenderer nameRenderer = new CountingNodeRenderer();
+    this.graphBuilder.useNodeNameRenderer(nameRenderer);
+
+    // act
+    this.graphBuilder
+        .addEdge(this.fromNode, this.toNode)
+        .addEdge(this.fromNode, this.toNode)
+        .addEdge(otherFromNode, this.toNode);
+
+    // assert
+    // "from" and "to" are rendered for the first edge, the equal but not identical "from" for the last edge
+    assertEquals(3, nameRenderer.count);
+    assertEquals(3, this.graphBuilder.getRenderCacheMisses());
+    assertEquals(3, this.graphBuilder.getRenderCacheHits());
+    assertSame(otherFromNode, this.graphBuilder.getEffectiveNode(this.fromNode));
+  }
+
+  @Test
+  void renderCacheIgnoresLookups() {
+    // arrange
+    this.graphBuilder.addEdge(this.fromNode, this.toNode);
+
+    // act
+    this.graphBuilder.getEffectiveNode(this.fromNode);
+
+    // assert
+    assertEquals(0, this.graphBuilder.getRenderCacheHits());
+  }
+
+  @Test
+  void renderCacheWithChangedRenderer() {
+    // arrange
+    this.graphBuilder.addNode(this.fromNode);
+
+    // act
+    this.graphBuilder
+        .useNodeNameRenderer(TestNodeRenderer.INSTANCE)
+        .addNode(this.fromNode);
+    this.graphBuilder.toString();
+
+    // assert
+    assertThat(this.formatter.nodes, contains(new Node<>(this.fromNode, this.fromNode + "-custom", "")));
+  }
+
   @Test
   void getEffectiveNode() {
     // arrange
@@ -271,6 +343,57 @@ class GraphBuilderTest {
         new Edge("C", "A", "")));
   }
 
+  @Test
+  void edgesAreRenderedAfterReduction() {
+    // arrange
+    List<String> renderedEdges = new ArrayList<>();
+    this.graphBuilder
+        .useEdgeRenderer((from, to) -> {
+          renderedEdges.add(from + "->" + to);
+          return "";
+        })
+        .addEdge("A", "B")
+        .addEdge("B", "C")
+        .addEdge("A", "C");
+
+    // act
+    this.graphBuilder.reduceEdges();
+    this.graphBuilder.toString();
+
+    // assert
+    assertEquals(Arrays.asList("A->B", "B->C"), renderedEdges);
+  }
+
+  @Test
+  void reduceEdgesWithDuplicatePermanentEdge() {
+    // arrange
+    this.graphBuilder.addEdge("A", "B");
+    this.graphBuilder.addEdge("B", "C");
+    this.graphBuilder.addEdge("A", "C");
+    this.graphBuilder.addPermanentEdge("A", "C");
+
+    // act
+    this.graphBuilder.reduceEdges();
+    this.graphBuilder.toString();
+
+    // assert
+    // The permanent A -> C is a duplicate of the reduced A -> C
+    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(
+        new Edge("A", "B", ""),
+        new Edge("B", "C", "")));
+  }
+
+  static class CountingNodeRenderer implements NodeRenderer<String> {
+
+    int count;
+
+    @Override
+    public String render(String node) {
+      this.count++;
+      return node;
+    }
+  }
+
   enum TestNodeRenderer implements NodeRenderer<String> {
     INSTANCE;
 
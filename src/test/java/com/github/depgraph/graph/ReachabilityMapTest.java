@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link ReachabilityMap}.
+ */
+class ReachabilityMapTest {
+
+  private static final int A = 0;
+  private static final int B = 1;
+  private static final int C = 2;
+  private static final int UNKNOWN = 42;
+
+  @Test
+  void olderPath() {
+    // arrange
+    ReachabilityMap map = new ReachabilityMap();
+    map.registerEdge(A, B);
+    map.registerEdge(B, C);
+    map.registerEdge(A, C);
+
+    // act/assert
+    assertTrue(map.hasOlderPath(C, A));
+    assertFalse(map.hasOlderPath(C, B));
+    assertFalse(map.hasOlderPath(B, A));
+  }
+
+  @Test
+  void newerPath() {
+    // arrange
+    ReachabilityMap map = new ReachabilityMap();
+    map.registerEdge(A, C);
+    map.registerEdge(A, B);
+    map.registerEdge(B, C);
+
+    // act/assert
+    assertFalse(map.hasOlderPath(C, A));
+  }
+
+  @Test
+  void unknownNodes() {
+    // arrange
+    ReachabilityMap map = new ReachabilityMap();
+    map.registerEdge(A, B);
+
+    // act/assert
+    assertFalse(map.hasOlderPath(UNKNOWN, A));
+    assertFalse(map.hasOlderPath(B, UNKNOWN));
+  }
+
+  @Test
+  void sameResultAsRecursiveSearch() {
+    Random random = new Random(4711);
+
+    for (int graph = 0; graph < 300; graph++) {
+      // arrange
+      int nodeCount = 2 + random.nextInt(12);
+      boolean acyclic = random.nextBoolean();
+      ReachabilityMap map = new ReachabilityMap();
+      RecursiveReachabilityMap expected = new RecursiveReachabilityMap();
+      List<int[]> edges = new ArrayList<>();
+
+      for (int i = 0; i < nodeCount * 3; i++) {
+        int from = random.nextInt(nodeCount);
+        int to = random.nextInt(nodeCount);
+        if (acyclic && from >= to) {
+          continue;
+        }
+
+        // Each pair is registered only once
+        if (expected.registerEdge("n" + from, "n" + to)) {
+          edges.add(new int[]{from, to});
+          map.registerEdge(from, to);
+        }
+      }
+
+      // act/assert
+      for (int[] edge : edges) {
+        assertEquals(expected.hasOlderPath("n" + edge[1], "n" + edge[0]), map.hasOlderPath(edge[1], edge[0]),
+            "Edge " + edge[0] + " -> " + edge[1] + " in " + expected.parentIndex);
+      }
+    }
+  }
+
+  /**
+   * The original recursive implementation, used as reference.
+   */
+  private static class RecursiveReachabilityMap {
+
+    private final Map<String, Set<String>> parentIndex = new LinkedHashMap<>();
+
+    boolean registerEdge(String from, String to) {
+      return safelyGetParents(to).add(from);
+    }
+
+    boolean hasOlderPath(String target, String source) {
+      return isReachable(target, source, true, new HashSet<>());
+    }
+
+    private boolean isReachable(String target, String source, boolean olderParentsOnly, Set<String> alreadyVisited) {
+      if (!alreadyVisited.add(target)) {
+        return false;
+      }
+
+      Set<String> parents = olderParentsOnly ? getOlderParents(target, source) : safelyGetParents(target);
+      if (parents.contains(source)) {
+        return true;
+      }
+
+      for (String parent : parents) {
+        if (isReachable(parent, source, false, alreadyVisited)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private Set<String> getOlderParents(String target, String source) {
+      Set<String> olderParents = new LinkedHashSet<>(safelyGetParents(target));
+      boolean remove = false;
+      Iterator<String> iterator = olderParents.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().equals(source)) {
+          remove = true;
+        }
+
+        if (remove) {
+          iterator.remove();
+        }
+      }
+
+      return olderParents;
+    }
+
+    private Set<String> safelyGetParents(String node) {
+      return this.parentIndex.computeIfAbsent(node, k -> new LinkedHashSet<>());
+    }
+  }
+}
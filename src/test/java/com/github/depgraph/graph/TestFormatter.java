@@ -15,6 +15,7 @@
  */
 package com.github.depgraph.graph;
 
+import java.io.Writer;
 import java.util.Collection;
 
 public class TestFormatter implements GraphFormatter {
@@ -24,10 +25,9 @@ public class TestFormatter implements GraphFormatter {
   public Collection<Edge> edges;
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Writer writer) {
     this.graphName = graphName;
     this.nodes = nodes;
     this.edges = edges;
-    return "";
   }
 }
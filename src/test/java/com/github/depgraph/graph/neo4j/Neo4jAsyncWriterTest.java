@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.summary.ResultSummary;
+
+/**
+ * JUnit tests for {@link Neo4jAsyncWriter}.
+ */
+class Neo4jAsyncWriterTest {
+
+  private Session session;
+  private Transaction transaction;
+  private Neo4jWriteStatistics statistics;
+  private Neo4jAsyncWriter writer;
+
+  @BeforeEach
+  void before() {
+    this.session = mock(Session.class);
+    this.transaction = mock(Transaction.class);
+    StatementResultCursor cursor = mock(StatementResultCursor.class);
+    when(this.session.beginTransactionAsync()).thenReturn(completedFuture(this.transaction));
+    when(this.transaction.runAsync(any(Statement.class))).thenReturn(completedFuture(cursor));
+    when(this.transaction.commitAsync()).thenReturn(completedFuture(null));
+    when(this.transaction.rollbackAsync()).thenReturn(completedFuture(null));
+    when(cursor.consumeAsync()).thenReturn(completedFuture(mock(ResultSummary.class)));
+
+    this.statistics = new Neo4jWriteStatistics();
+    this.writer = new Neo4jAsyncWriter(this.session, 2, 1, this.statistics);
+  }
+
+  @Test
+  void commitPerChunk() {
+    // act
+    this.writer.write(new Statement("1"));
+    this.writer.write(new Statement("2"));
+    this.writer.write(new Statement("3"));
+    this.writer.flush();
+
+    // assert
+    verify(this.session, times(2)).beginTransactionAsync();
+    verify(this.transaction, times(2)).commitAsync();
+    assertEquals(2, this.statistics.getCommits());
+    assertEquals(3, this.statistics.getStatements());
+  }
+
+  @Test
+  void statementOrder() {
+    // act
+    this.writer.write(new Statement("1"));
+    this.writer.write(new Statement("2"));
+
+    // assert
+    InOrder inOrder = inOrder(this.transaction);
+    inOrder.verify(this.transaction).runAsync(new Statement("1"));
+    inOrder.verify(this.transaction).runAsync(new Statement("2"));
+    inOrder.verify(this.transaction).commitAsync();
+  }
+
+  @Test
+  void rollbackOnFailure() {
+    // arrange
+    CompletableFuture<StatementResultCursor> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new ClientException("boom"));
+    when(this.transaction.runAsync(any(Statement.class))).thenReturn(failure);
+    this.writer.write(new Statement("1"));
+
+    // act/assert
+    assertThrows(ClientException.class, () -> this.writer.flush());
+    verify(this.transaction, never()).commitAsync();
+    verify(this.transaction).rollbackAsync();
+    assertEquals(1, this.statistics.getRollbacks());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.depgraph.graph.Edge;
+import com.github.depgraph.graph.Node;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for {@link Neo4jCsvGraphFormatter}.
+ */
+class Neo4jCsvGraphFormatterTest {
+
+  @TempDir
+  Path importDirectory;
+
+  @Test
+  void format() throws IOException {
+    // arrange
+    Neo4jCsvGraphFormatter formatter = new Neo4jCsvGraphFormatter(this.importDirectory);
+    List<Node<?>> nodes = asList(
+        artifact("g:project", "project"),
+        artifact("g:a", "a,b"));
+    List<Edge> edges = singletonList(dependency("g:project", "g:a"));
+
+    // act
+    String result = formatter.format("graph", nodes, edges);
+
+    // assert
+    assertTrue(result.startsWith("neo4j-admin import --id-type=INTEGER --nodes="));
+    assertEquals(singletonList(":ID,id,groupId,artifactId,version,scope,type,:LABEL"),
+        read(Neo4jCsvGraphFormatter.ARTIFACTS_HEADER_FILE));
+    assertEquals(asList(
+        "0,g:project,g,project,1.0,,jar,Artifact",
+        "1,g:a,g,\"a,b\",1.0,,jar,Artifact"),
+        read(Neo4jCsvGraphFormatter.ARTIFACTS_FILE));
+    assertEquals(singletonList("0,1,DEPENDENCY,compile,g:a:compile"),
+        read(Neo4jCsvGraphFormatter.DEPENDENCIES_FILE));
+  }
+
+  @Test
+  void formatMultipleGraphs() throws IOException {
+    // arrange
+    Neo4jCsvGraphFormatter formatter1 = new Neo4jCsvGraphFormatter(this.importDirectory);
+    Neo4jCsvGraphFormatter formatter2 = new Neo4jCsvGraphFormatter(this.importDirectory);
+
+    // act
+    formatter1.format("graph1", asList(artifact("g:m1", "m1"), artifact("g:lib", "lib")),
+        singletonList(dependency("g:m1", "g:lib")));
+    formatter2.format("graph2", asList(artifact("g:m2", "m2"), artifact("g:lib", "lib")),
+        asList(dependency("g:m2", "g:lib"), dependency("g:m2", "g:lib")));
+
+    // assert
+    assertEquals(asList(
+        "0,g:m1,g,m1,1.0,,jar,Artifact",
+        "1,g:lib,g,lib,1.0,,jar,Artifact",
+        "2,g:m2,g,m2,1.0,,jar,Artifact"),
+        read(Neo4jCsvGraphFormatter.ARTIFACTS_FILE));
+    assertEquals(asList(
+        "0,1,DEPENDENCY,compile,g:lib:compile",
+        "2,1,DEPENDENCY,compile,g:lib:compile"),
+        read(Neo4jCsvGraphFormatter.DEPENDENCIES_FILE));
+  }
+
+  @Test
+  void formatAfterFinishedExports() throws IOException {
+    // arrange
+    new Neo4jCsvGraphFormatter(this.importDirectory).format("graph1", singletonList(artifact("g:m1", "m1")),
+        emptyList());
+    Neo4jCsvGraphFormatter.finishExports();
+
+    // act
+    new Neo4jCsvGraphFormatter(this.importDirectory).format("graph2", singletonList(artifact("g:m2", "m2")),
+        emptyList());
+
+    // assert
+    assertEquals(singletonList("0,g:m2,g,m2,1.0,,jar,Artifact"), read(Neo4jCsvGraphFormatter.ARTIFACTS_FILE));
+  }
+
+  @Test
+  void formatDependenciesWithoutScope() throws IOException {
+    // arrange
+    Neo4jCsvGraphFormatter formatter = new Neo4jCsvGraphFormatter(this.importDirectory);
+    Edge withoutScope = new Edge("g:m1", "g:lib", "{}");
+    Edge nullScope = new Edge("g:m1", "g:lib", "{\"resolutionScope\":\"null\"}");
+
+    // act
+    formatter.format("graph", asList(artifact("g:m1", "m1"), artifact("g:lib", "lib")),
+        asList(withoutScope, withoutScope, nullScope));
+
+    // assert
+    assertEquals(asList(
+        "0,1,DEPENDENCY,,g:lib:null",
+        "0,1,DEPENDENCY,null,g:lib:null"),
+        read(Neo4jCsvGraphFormatter.DEPENDENCIES_FILE));
+  }
+
+  private List<String> read(String fileName) throws IOException {
+    return Files.readAllLines(this.importDirectory.resolve(fileName), UTF_8);
+  }
+
+  private static Node<?> artifact(String id, String artifactId) {
+    String json = "{\"groupId\":\"g\",\"artifactId\":\"" + artifactId + "\",\"version\":\"1.0\",\"type\":\"jar\"}";
+    return new Node<>(id, json, id);
+  }
+
+  private static Edge dependency(String from, String to) {
+    return new Edge(from, to, "{\"resolutionScope\":\"compile\"}");
+  }
+}
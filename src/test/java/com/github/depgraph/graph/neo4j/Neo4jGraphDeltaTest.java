@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.depgraph.graph.neo4j.Neo4jGraph.Artifact;
+import com.github.depgraph.graph.neo4j.Neo4jGraph.Dependency;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link Neo4jGraphDelta}.
+ */
+class Neo4jGraphDeltaTest {
+
+  private Neo4jGraph graph;
+  private Artifact project;
+  private Artifact a;
+  private Artifact b;
+  private Dependency projectToA;
+  private Dependency aToB;
+
+  @BeforeEach
+  void before() {
+    this.graph = new Neo4jGraph("test");
+    this.project = this.graph.addArtifact("project", 0, emptyMap());
+    this.a = this.graph.addArtifact("a", 1, emptyMap());
+    this.b = this.graph.addArtifact("b", 2, emptyMap());
+    this.projectToA = this.graph.addDependency("project", 0, "a", 1, singletonMap("resolutionScope", "compile"));
+    this.aToB = this.graph.addDependency("a", 1, "b", 2, singletonMap("resolutionScope", "compile"));
+  }
+
+  @Test
+  void emptyDatabase() {
+    // act
+    Neo4jGraphDelta delta = Neo4jGraphDelta.compute(artifacts(), dependencies(), emptySet(), emptyMap());
+
+    // assert
+    assertThat(delta.getNewArtifacts(), contains(this.project, this.a, this.b));
+    assertThat(delta.getNewDependencies(), contains(this.projectToA, this.aToB));
+    assertThat(delta.getStaleDependencies(), empty());
+  }
+
+  @Test
+  void unchangedGraph() {
+    // arrange
+    Map<List<String>, Map<String, Object>> existingDependencies = new LinkedHashMap<>();
+    addExisting(existingDependencies, "project", "a", "compile");
+    addExisting(existingDependencies, "a", "b", "compile");
+
+    // act
+    Neo4jGraphDelta delta = Neo4jGraphDelta.compute(artifacts(), dependencies(), existingArtifacts(),
+        existingDependencies);
+
+    // assert
+    assertThat(delta.getNewArtifacts(), empty());
+    assertThat(delta.getNewDependencies(), empty());
+    assertThat(delta.getStaleDependencies(), empty());
+  }
+
+  @Test
+  void changedScope() {
+    // arrange
+    Map<List<String>, Map<String, Object>> existingDependencies = new LinkedHashMap<>();
+    addExisting(existingDependencies, "project", "a", "test");
+    addExisting(existingDependencies, "a", "b", "compile");
+
+    // act
+    Neo4jGraphDelta delta = Neo4jGraphDelta.compute(artifacts(), dependencies(), existingArtifacts(),
+        existingDependencies);
+
+    // assert
+    assertThat(delta.getNewDependencies(), contains(this.projectToA));
+    assertEquals(singletonList(Neo4jGraphDelta.dependencyRow("project", "a", "test")), delta.getStaleDependencies());
+  }
+
+  @Test
+  void staleDependenciesOfSharedArtifactsAreKept() {
+    // arrange
+    Map<List<String>, Map<String, Object>> existingDependencies = new LinkedHashMap<>();
+    addExisting(existingDependencies, "project", "a", "compile");
+    addExisting(existingDependencies, "a", "b", "compile");
+    addExisting(existingDependencies, "a", "c", "compile");
+
+    // act
+    Neo4jGraphDelta delta = Neo4jGraphDelta.compute(artifacts(), dependencies(), existingArtifacts(),
+        existingDependencies);
+
+    // assert
+    assertThat(delta.getStaleDependencies(), empty());
+  }
+
+  private List<Artifact> artifacts() {
+    return Arrays.asList(this.project, this.a, this.b);
+  }
+
+  private List<Dependency> dependencies() {
+    return Arrays.asList(this.projectToA, this.aToB);
+  }
+
+  private static HashSet<String> existingArtifacts() {
+    return new HashSet<>(Arrays.asList("project", "a", "b"));
+  }
+
+  private static void addExisting(Map<List<String>, Map<String, Object>> existingDependencies, String from, String to,
+      String scope) {
+    existingDependencies.put(Neo4jGraphDelta.key(from, to, scope), Neo4jGraphDelta.dependencyRow(from, to, scope));
+  }
+}
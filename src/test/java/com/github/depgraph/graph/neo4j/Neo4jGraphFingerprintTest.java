@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.github.depgraph.graph.Edge;
+import com.github.depgraph.graph.Node;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link Neo4jGraphFingerprint}.
+ */
+class Neo4jGraphFingerprintTest {
+
+  @Test
+  void independentOfOrder() {
+    // arrange
+    List<Node<?>> nodes = nodes("project", "a", "b");
+    List<Edge> edges = Arrays.asList(new Edge("project", "a", "compile"), new Edge("a", "b", "compile"));
+
+    // act
+    Neo4jGraphFingerprint fingerprint1 = Neo4jGraphFingerprint.of(nodes, edges);
+    Neo4jGraphFingerprint fingerprint2 = Neo4jGraphFingerprint.of(reverse(nodes), reverse(edges));
+
+    // assert
+    assertEquals(fingerprint1.getHash(), fingerprint2.getHash());
+    assertEquals("project", fingerprint1.getProjectId());
+  }
+
+  @Test
+  void changedEdge() {
+    // arrange
+    List<Node<?>> nodes = nodes("project", "a", "b");
+
+    // act
+    Neo4jGraphFingerprint fingerprint1 = Neo4jGraphFingerprint.of(nodes, Arrays.asList(
+        new Edge("project", "a", "compile"), new Edge("a", "b", "compile")));
+    Neo4jGraphFingerprint fingerprint2 = Neo4jGraphFingerprint.of(nodes, Arrays.asList(
+        new Edge("project", "a", "compile"), new Edge("a", "b", "test")));
+
+    // assert
+    assertNotEquals(fingerprint1.getHash(), fingerprint2.getHash());
+  }
+
+  @Test
+  void changedEdgeAttributes() {
+    // arrange
+    List<Node<?>> nodes = nodes("project", "a");
+
+    // act
+    Neo4jGraphFingerprint fingerprint1 = Neo4jGraphFingerprint.of(nodes, Collections.singletonList(
+        new Edge("project", "a", "", false, Collections.singletonMap("resolutionScope", "compile"))));
+    Neo4jGraphFingerprint fingerprint2 = Neo4jGraphFingerprint.of(nodes, Collections.singletonList(
+        new Edge("project", "a", "", false, Collections.singletonMap("resolutionScope", "test"))));
+
+    // assert
+    assertNotEquals(fingerprint1.getHash(), fingerprint2.getHash());
+  }
+
+  @Test
+  void valuesAreSeparated() {
+    // act
+    Neo4jGraphFingerprint fingerprint1 = Neo4jGraphFingerprint.of(nodes("ab", "c"), Collections.emptyList());
+    Neo4jGraphFingerprint fingerprint2 = Neo4jGraphFingerprint.of(nodes("a", "bc"), Collections.emptyList());
+
+    // assert
+    assertNotEquals(fingerprint1.getHash(), fingerprint2.getHash());
+  }
+
+  private static List<Node<?>> nodes(String... nodeIds) {
+    Node<?>[] nodes = new Node<?>[nodeIds.length];
+    for (int i = 0; i < nodeIds.length; i++) {
+      nodes[i] = new Node<>(nodeIds[i], "", nodeIds[i]);
+    }
+
+    return Arrays.asList(nodes);
+  }
+
+  private static <T> List<T> reverse(Collection<T> values) {
+    List<T> reversed = new ArrayList<>(values);
+    Collections.reverse(reversed);
+    return reversed;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link Neo4jGraphJsonWriter}.
+ */
+class Neo4jGraphJsonWriterTest {
+
+  @Test
+  void writeCompact() throws IOException {
+    // arrange
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("groupId", "g");
+    data.put("optional", true);
+    data.put("classifier", "");
+
+    Neo4jGraph graph = new Neo4jGraph("test");
+    graph.addArtifact("project", 0, data);
+    graph.addArtifact("a", 1, emptyMap());
+    graph.addDependency("project", 0, "a", 1, singletonMap("resolutionScope", "compile"));
+    StringWriter writer = new StringWriter();
+
+    // act
+    Neo4jGraphJsonWriter.write(graph, writer, true);
+
+    // assert
+    String expected = "{\"graphName\":\"test\","
+        + "\"artifacts\":[{\"id\":\"project\",\"numericId\":0,\"groupId\":\"g\",\"optional\":true},"
+        + "{\"id\":\"a\",\"numericId\":1}],"
+        + "\"dependencies\":[{\"from\":\"project\",\"to\":\"a\",\"numericFrom\":0,\"numericTo\":1,"
+        + "\"resolutionScope\":\"compile\"}]}";
+    assertEquals(expected, writer.toString());
+  }
+
+  @Test
+  void writeEmptyGraph() throws IOException {
+    // arrange
+    StringWriter writer = new StringWriter();
+
+    // act
+    Neo4jGraphJsonWriter.write(new Neo4jGraph(""), writer, false);
+
+    // assert
+    assertEquals("{ }", writer.toString());
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014 - 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.depgraph.graph.neo4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+/**
+ * JUnit tests for {@link Neo4jTransactionalWriter}.
+ */
+class Neo4jTransactionalWriterTest {
+
+  private Session session;
+  private Transaction transaction;
+  private Neo4jWriteStatistics statistics;
+  private Neo4jTransactionalWriter writer;
+
+  @BeforeEach
+  void before() {
+    this.session = mock(Session.class);
+    this.transaction = mock(Transaction.class);
+    when(this.session.beginTransaction()).thenReturn(this.transaction);
+    when(this.transaction.run(any(Statement.class))).thenReturn(mock(StatementResult.class));
+
+    this.statistics = new Neo4jWriteStatistics();
+    this.writer = new Neo4jTransactionalWriter(this.session, 2, this.statistics);
+  }
+
+  @Test
+  void commitPerChunk() {
+    // act
+    this.writer.write(new Statement("1"));
+    this.writer.write(new Statement("2"));
+    this.writer.write(new Statement("3"));
+    this.writer.flush();
+
+    // assert
+    verify(this.session, times(2)).beginTransaction();
+    verify(this.transaction, times(3)).run(any(Statement.class));
+    verify(this.transaction, times(2)).success();
+    assertEquals(2, this.statistics.getCommits());
+    assertEquals(3, this.statistics.getStatements());
+    assertEquals(0, this.statistics.getRollbacks());
+  }
+
+  @Test
+  void flushWithoutStatements() {
+    // act
+    this.writer.flush();
+
+    // assert
+    verify(this.session, never()).beginTransaction();
+    assertEquals(0, this.statistics.getCommits());
+  }
+
+  @Test
+  void rollbackOnFailure() {
+    // arrange
+    when(this.transaction.run(any(Statement.class))).thenThrow(new ClientException("boom"));
+    this.writer.write(new Statement("1"));
+
+    // act/assert
+    assertThrows(ClientException.class, () -> this.writer.flush());
+    verify(this.transaction, never()).success();
+    verify(this.transaction).close();
+    assertEquals(0, this.statistics.getCommits());
+    assertEquals(1, this.statistics.getRollbacks());
+  }
+}
@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.github.depgraph.graph.Edge;
 import com.github.depgraph.graph.Node;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -154,6 +156,24 @@ class TextGraphFormatterTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  void formatToWriter() throws IOException {
+    // arrange
+    Node<?> parent = node("parent");
+    Node<?> child = node("child");
+    StringWriter writer = new StringWriter();
+    writer.write("existing\n");
+
+    // act
+    new TextGraphFormatter(false).format("", asList(parent, child), asList(edge("parent", "child")), writer);
+
+    // assert
+    String expected = "existing\n"
+        + "parent\n"
+        + "\\- child\n";
+    assertEquals(expected, writer.toString());
+  }
+
   private String createTextGraph(Edge... edges) {
     return createTextGraph(false, edges);
   }